@@ -0,0 +1,85 @@
+package net.licks92.wirelessredstone.benchmarks;
+
+import net.licks92.wirelessredstone.WirelessRedstone;
+import net.licks92.wirelessredstone.signs.WirelessChannel;
+import net.licks92.wirelessredstone.signs.WirelessReceiver;
+import net.licks92.wirelessredstone.signs.WirelessTransmitter;
+import org.bukkit.World;
+import org.bukkit.block.BlockFace;
+import org.mockbukkit.mockbukkit.MockBukkit;
+import org.mockbukkit.mockbukkit.ServerMock;
+
+import java.util.List;
+
+/**
+ * Mocked server with the plugin loaded, shared by all benchmarks of one fork.
+ */
+public final class BenchmarkServer {
+
+    public static final String WORLD = "world";
+    public static final int BASE_Y = 64;
+
+    private static ServerMock server;
+    private static World world;
+
+    private BenchmarkServer() {
+    }
+
+    public static synchronized void start() {
+        if (server != null) {
+            return;
+        }
+
+        // Keep sentry and update checks from phoning home during a run
+        System.setProperty("mc.development", "true");
+
+        server = MockBukkit.mock();
+        world = server.addSimpleWorld(WORLD);
+        MockBukkit.load(WirelessRedstone.class);
+    }
+
+    public static synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+
+        MockBukkit.unmock();
+        server = null;
+        world = null;
+    }
+
+    public static ServerMock getServer() {
+        return server;
+    }
+
+    public static World getWorld() {
+        return world;
+    }
+
+    /**
+     * Register a channel with one transmitter and a row of receivers.
+     * Every channel gets its own z so channels don't overlap.
+     *
+     * @param name      Channel name
+     * @param row       Row (z) of the channel
+     * @param receivers Amount of receivers
+     * @return Registered channel
+     */
+    public static WirelessChannel createChannel(String name, int row, int receivers) {
+        WirelessChannel channel = new WirelessChannel(name, List.of("benchmark"));
+        WirelessRedstone.getStorage().createChannel(channel);
+
+        WirelessRedstone.getStorage().createWirelessPoint(name,
+                new WirelessTransmitter(0, BASE_Y, row, WORLD, false, BlockFace.NORTH, "benchmark"));
+        for (int i = 1; i <= receivers; i++) {
+            WirelessRedstone.getStorage().createWirelessPoint(name,
+                    new WirelessReceiver(i, BASE_Y, row, WORLD, false, BlockFace.NORTH, "benchmark"));
+        }
+
+        return WirelessRedstone.getStorageManager().getChannel(name);
+    }
+
+    public static void removeChannel(String name) {
+        WirelessRedstone.getStorage().removeChannel(name, false);
+    }
+}
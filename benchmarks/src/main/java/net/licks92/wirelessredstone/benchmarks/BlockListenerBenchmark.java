@@ -0,0 +1,82 @@
+package net.licks92.wirelessredstone.benchmarks;
+
+import net.licks92.wirelessredstone.WirelessRedstone;
+import net.licks92.wirelessredstone.listeners.BlockListener;
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.event.block.BlockRedstoneEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redstone events next to a transmitter and far away from any transmitter.<br>
+ * Channel updates requested by the listener are applied by ticking the mocked scheduler.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BlockListenerBenchmark {
+
+    @Param({"10", "1000"})
+    public int channels;
+
+    private BlockListener listener;
+    private BlockRedstoneEvent nearOn;
+    private BlockRedstoneEvent nearOff;
+    private BlockRedstoneEvent far;
+
+    @Setup
+    public void setup() {
+        BenchmarkServer.start();
+
+        for (int i = 0; i < channels; i++) {
+            BenchmarkServer.createChannel("listener" + i, i * 4, 1);
+        }
+
+        listener = new BlockListener();
+
+        // Redstone wire right below the transmitter of the first channel
+        Block near = BenchmarkServer.getWorld().getBlockAt(0, BenchmarkServer.BASE_Y - 1, 0);
+        near.setType(Material.REDSTONE_WIRE);
+        nearOn = new BlockRedstoneEvent(near, 0, 15);
+        nearOff = new BlockRedstoneEvent(near, 15, 0);
+
+        Block farBlock = BenchmarkServer.getWorld().getBlockAt(100_000, BenchmarkServer.BASE_Y, 100_000);
+        farBlock.setType(Material.REDSTONE_WIRE);
+        far = new BlockRedstoneEvent(farBlock, 0, 15);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkServer.stop();
+    }
+
+    @Benchmark
+    public int nearTransmitter() {
+        listener.on(nearOn);
+        listener.on(nearOff);
+        BenchmarkServer.getServer().getScheduler().performOneTick();
+        return WirelessRedstone.getChannelUpdateQueue().size();
+    }
+
+    @Benchmark
+    public int farFromTransmitter() {
+        listener.on(far);
+        return WirelessRedstone.getChannelUpdateQueue().size();
+    }
+}
@@ -0,0 +1,62 @@
+package net.licks92.wirelessredstone.benchmarks;
+
+import net.licks92.wirelessredstone.WirelessRedstone;
+import org.bukkit.Location;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SignManagerBenchmark {
+
+    private static final int RECEIVERS_PER_CHANNEL = 100;
+
+    @Param({"10", "100", "1000"})
+    public int channels;
+
+    private Location registered;
+    private Location unregistered;
+
+    @Setup
+    public void setup() {
+        BenchmarkServer.start();
+
+        for (int i = 0; i < channels; i++) {
+            BenchmarkServer.createChannel("signs" + i, i, RECEIVERS_PER_CHANNEL);
+        }
+
+        registered = new Location(BenchmarkServer.getWorld(), RECEIVERS_PER_CHANNEL / 2, BenchmarkServer.BASE_Y, channels / 2);
+        unregistered = new Location(BenchmarkServer.getWorld(), -5, BenchmarkServer.BASE_Y, -5);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkServer.stop();
+    }
+
+    @Benchmark
+    public boolean isSignRegisteredHit() {
+        return WirelessRedstone.getSignManager().isSignRegistred(registered);
+    }
+
+    @Benchmark
+    public boolean isSignRegisteredMiss() {
+        return WirelessRedstone.getSignManager().isSignRegistred(unregistered);
+    }
+}
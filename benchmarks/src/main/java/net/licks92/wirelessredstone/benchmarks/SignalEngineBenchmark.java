@@ -0,0 +1,124 @@
+package net.licks92.wirelessredstone.benchmarks;
+
+import net.licks92.wirelessredstone.engine.SignalEngine;
+import net.licks92.wirelessredstone.engine.SimulatedWorld;
+import net.licks92.wirelessredstone.instrumentation.Instrumentation;
+import net.licks92.wirelessredstone.scheduler.TimingWheel;
+import net.licks92.wirelessredstone.signs.GateLogic;
+import net.licks92.wirelessredstone.signs.WirelessChannel;
+import net.licks92.wirelessredstone.signs.WirelessReceiver;
+import net.licks92.wirelessredstone.signs.WirelessReceiverDelayer;
+import net.licks92.wirelessredstone.signs.WirelessReceiverInverter;
+import net.licks92.wirelessredstone.signs.WirelessReceiverSwitch;
+import net.licks92.wirelessredstone.signs.WirelessScreen;
+import net.licks92.wirelessredstone.signs.WirelessTransmitter;
+import org.bukkit.block.BlockFace;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One on/off cycle of a network on the headless signal engine, without a (mocked) server.<br>
+ * The points are spread over channels of 100 points with a mix of receiver types. The timing wheel
+ * is advanced by hand until every delayer fired, so every invocation does exactly the same work.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SignalEngineBenchmark {
+
+    private static final int POINTS_PER_CHANNEL = 100;
+    private static final int DELAY_TICKS = 2;
+
+    @Param({"1000", "10000", "100000"})
+    public int points;
+
+    @Param({"OR", "XOR"})
+    public GateLogic gateLogic;
+
+    private SimulatedWorld world;
+    private TimingWheel wheel;
+    private SignalEngine engine;
+    private WirelessChannel[] channels;
+    private WirelessTransmitter[] transmitters;
+
+    @Setup
+    public void setup() {
+        world = new SimulatedWorld();
+        wheel = new TimingWheel();
+        engine = new SignalEngine(world, wheel, gateLogic, 2, new Instrumentation().getChannelActivations());
+
+        int channelCount = Math.max(1, points / POINTS_PER_CHANNEL);
+        channels = new WirelessChannel[channelCount];
+        transmitters = new WirelessTransmitter[channelCount];
+        for (int c = 0; c < channelCount; c++) {
+            WirelessChannel channel = new WirelessChannel("channel" + c, List.of("benchmark"));
+            WirelessTransmitter transmitter = new WirelessTransmitter(0, BenchmarkServer.BASE_Y, c,
+                    BenchmarkServer.WORLD, false, BlockFace.NORTH, "benchmark");
+            channel.addWirelessPoint(transmitter);
+            channel.addWirelessPoint(new WirelessScreen(1, BenchmarkServer.BASE_Y, c,
+                    BenchmarkServer.WORLD, false, BlockFace.NORTH, "benchmark"));
+
+            for (int i = 2; i < POINTS_PER_CHANNEL; i++) {
+                channel.addWirelessPoint(createReceiver(i, c));
+            }
+
+            channels[c] = channel;
+            transmitters[c] = transmitter;
+        }
+    }
+
+    @Benchmark
+    public long turnOnOff() {
+        for (int c = 0; c < channels.length; c++) {
+            world.setPowered(transmitters[c], true);
+            engine.setTransmitterPowered(channels[c], transmitters[c], true);
+            engine.turnOn(channels[c], 0);
+        }
+        advance();
+
+        for (int c = 0; c < channels.length; c++) {
+            world.setPowered(transmitters[c], false);
+            engine.setTransmitterPowered(channels[c], transmitters[c], false);
+            engine.turnOff(channels[c], null, false);
+        }
+        advance();
+
+        return world.getReceiverWrites();
+    }
+
+    private void advance() {
+        for (int tick = 0; tick < DELAY_TICKS; tick++) {
+            wheel.advance();
+        }
+    }
+
+    private static WirelessReceiver createReceiver(int x, int z) {
+        String world = BenchmarkServer.WORLD;
+        int y = BenchmarkServer.BASE_Y;
+        switch (x % 4) {
+            case 1:
+                return new WirelessReceiverInverter(x, y, z, world, false, BlockFace.NORTH, "benchmark");
+            case 2:
+                return new WirelessReceiverDelayer(x, y, z, world, false, BlockFace.NORTH, "benchmark", DELAY_TICKS * 50);
+            case 3:
+                return new WirelessReceiverSwitch(x, y, z, world, false, BlockFace.NORTH, "benchmark");
+            default:
+                return new WirelessReceiver(x, y, z, world, false, BlockFace.NORTH, "benchmark");
+        }
+    }
+}
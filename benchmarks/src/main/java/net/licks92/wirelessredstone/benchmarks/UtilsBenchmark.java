@@ -0,0 +1,64 @@
+package net.licks92.wirelessredstone.benchmarks;
+
+import net.licks92.wirelessredstone.Utils;
+import net.licks92.wirelessredstone.signs.SignType;
+import org.bukkit.Location;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UtilsBenchmark {
+
+    @Param({"transmitter", "r", "delayer", "unknown"})
+    public String type;
+
+    private Location location;
+    private Location sameLocation;
+    private Location otherLocation;
+
+    @Setup
+    public void setup() {
+        BenchmarkServer.start();
+
+        location = new Location(BenchmarkServer.getWorld(), 10.5, 64, -20.5);
+        sameLocation = new Location(BenchmarkServer.getWorld(), 10.2, 64.9, -20.9);
+        otherLocation = new Location(BenchmarkServer.getWorld(), 11, 64, -20);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkServer.stop();
+    }
+
+    @Benchmark
+    public SignType getType() {
+        return Utils.getType(type, "[wrr]");
+    }
+
+    @Benchmark
+    public boolean sameLocationMatch() {
+        return Utils.sameLocation(location, sameLocation);
+    }
+
+    @Benchmark
+    public boolean sameLocationMiss() {
+        return Utils.sameLocation(location, otherLocation);
+    }
+}
@@ -0,0 +1,136 @@
+package net.licks92.wirelessredstone.storage;
+
+import net.licks92.wirelessredstone.benchmarks.BenchmarkServer;
+import net.licks92.wirelessredstone.signs.WirelessChannel;
+import net.licks92.wirelessredstone.signs.WirelessPoint;
+import net.licks92.wirelessredstone.signs.WirelessReceiver;
+import net.licks92.wirelessredstone.signs.WirelessTransmitter;
+import org.bukkit.block.BlockFace;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk insert and full load of the SQLite storage.<br>
+ * Lives in the storage package because the {@link DatabaseClient} isn't public.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class DatabaseClientBenchmark {
+
+    private static final int RECEIVERS_PER_CHANNEL = 10;
+
+    @Param({"100", "1000", "10000"})
+    public int channels;
+
+    private File folder;
+    private DatabaseClient client;
+    private List<WirelessChannel> data;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        // The client logs through the plugin, so it needs the plugin to be loaded
+        BenchmarkServer.start();
+
+        folder = Files.createTempDirectory("wr-benchmark").toFile();
+        client = DatabaseClient.init(folder.getAbsolutePath());
+
+        data = new ArrayList<>(channels);
+        for (int i = 0; i < channels; i++) {
+            WirelessChannel channel = new WirelessChannel("db" + i, List.of("benchmark"));
+            channel.addWirelessPoint(new WirelessTransmitter(0, 64, i, BenchmarkServer.WORLD, false, BlockFace.NORTH, "benchmark"));
+            for (int j = 1; j <= RECEIVERS_PER_CHANNEL; j++) {
+                channel.addWirelessPoint(new WirelessReceiver(j, 64, i, BenchmarkServer.WORLD, false, BlockFace.NORTH, "benchmark"));
+            }
+            data.add(channel);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        client.getDatabase().close();
+        BenchmarkServer.stop();
+
+        try (var files = Files.walk(folder.toPath())) {
+            files.sorted(Comparator.reverseOrder()).map(Path::toFile).forEach(File::delete);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Empty {
+        @Setup(Level.Invocation)
+        public void setup(DatabaseClientBenchmark benchmark) {
+            benchmark.clear();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Filled {
+        @Setup(Level.Invocation)
+        public void setup(DatabaseClientBenchmark benchmark) {
+            benchmark.clear();
+            benchmark.insertAll();
+        }
+    }
+
+    @Benchmark
+    public DatabaseClient bulkInsert(Empty empty) {
+        insertAll();
+        return client;
+    }
+
+    @Benchmark
+    public Collection<WirelessChannel> loadAll(Filled filled) {
+        return client.getAllChannels();
+    }
+
+    private void clear() {
+        client.getDatabase().beginTransaction();
+        try {
+            for (WirelessChannel channel : data) {
+                client.removeChannel(channel.getName());
+            }
+            client.getDatabase().setTransactionSuccessful();
+        } finally {
+            client.getDatabase().endTransaction();
+        }
+    }
+
+    private void insertAll() {
+        client.getDatabase().beginTransaction();
+        try {
+            for (WirelessChannel channel : data) {
+                for (WirelessPoint point : channel.getSigns()) {
+                    client.insertWirelessPoint(channel, point);
+                }
+            }
+            client.getDatabase().setTransactionSuccessful();
+        } finally {
+            client.getDatabase().endTransaction();
+        }
+    }
+}
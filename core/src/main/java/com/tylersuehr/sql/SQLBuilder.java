@@ -24,6 +24,8 @@
 
 package com.tylersuehr.sql;
 
+import java.util.Collection;
+
 /**
  * Utility to help construct SQL queries and commands.
  * @author Tyler Suehr
@@ -65,66 +67,38 @@ final class SQLBuilder {
         return sb.toString();
     }
 
-    // INSERT INTO [table] ([col1],[col2],[col3],[col4]) VALUES ('test', 'test2', 123, 12.123);
-    static String createInsert(String table, ContentValues values) {
+    // INSERT INTO [table] ([col1],[col2],[col3],[col4]) VALUES (?,?,?,?);
+    static String createInsert(String table, Collection<String> cols) {
         final StringBuilder sb = new StringBuilder();
         sb.append("INSERT INTO ");
         sb.append("[").append(table).append("] (");
 
         int i = 0;
-        for (String col : values.getKeys()) {
+        for (String col : cols) {
             sb.append((i > 0) ? "," : "");
             sb.append("[").append(col).append("]");
             i++;
         }
         sb.append(") VALUES (");
 
-        i = 0;
-        for (Object o : values.getData()) {
-            sb.append((i > 0) ? "," : "");
-            if (o instanceof String) {
-                sb.append("'").append(o).append("'");
-            } else if (o instanceof Boolean) {
-                Boolean b = (Boolean) o;
-                if (b) {
-                    sb.append("1");
-                } else {
-                    sb.append("0");
-                }
-            } else {
-                sb.append(o);
-            }
-            i++;
+        for (i = 0; i < cols.size(); i++) {
+            sb.append((i > 0) ? ",?" : "?");
         }
         sb.append(");");
         return sb.toString();
     }
 
-    // UPDATE [table] SET [col1] = 'test' WHERE [col2] = 3;
-    static String createUpdate(String table, ContentValues values, String selection) {
+    // UPDATE [table] SET [col1]=? WHERE [col2] = ?;
+    static String createUpdate(String table, Collection<String> cols, String selection) {
         final StringBuilder sb = new StringBuilder(120);
         sb.append("UPDATE ");
         sb.append("[").append(table).append("]");
         sb.append(" SET ");
 
         int i = 0;
-        for (String col : values.getKeys()) {
+        for (String col : cols) {
             sb.append((i > 0) ? "," : "");
-            sb.append("[").append(col).append("]");
-            sb.append("=");
-
-            if (values.get(col) instanceof String) {
-                sb.append("'").append(values.get(col)).append("'");
-            } else if (values.get(col) instanceof Boolean) {
-                Boolean b = (Boolean) values.get(col);
-                if (b) {
-                    sb.append("1");
-                } else {
-                    sb.append("0");
-                }
-            } else {
-                sb.append(values.get(col));
-            }
+            sb.append("[").append(col).append("]=?");
             i++;
         }
 
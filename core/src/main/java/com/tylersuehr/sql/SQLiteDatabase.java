@@ -25,12 +25,19 @@
 package com.tylersuehr.sql;
 import net.licks92.wirelessredstone.ConfigManager;
 import net.licks92.wirelessredstone.WirelessRedstone;
+import net.licks92.wirelessredstone.instrumentation.DatabaseStatementEvent;
 
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * The SQLite database itself.
@@ -38,14 +45,22 @@ import java.sql.Statement;
  *
  * Will handle establishing the connection, managing statements, and closing the connection
  * to the database by utilizing the SQLite JDBC drivers.
+ * Commands are sent as cached prepared statements, values are never concatenated into the SQL.
+ * The database runs in WAL mode with synchronous=NORMAL.
  *
  * The following operations are supported:
  * (1) Insert data into the database. {@link #insert(String, ContentValues)}
- * (2) Update data in the database. {@link #update(String, ContentValues, String)}
- * (3) Delete data in the database. {@link #delete(String, String)}
- * (4) Query data in the database. {@link #query(String, String, String, String)}
+ *     Insert many rows in one transaction. {@link #insertBatch(String, Collection)}
+ * (2) Update data in the database. {@link #update(String, ContentValues, String, Object[])}
+ * (3) Delete data in the database. {@link #delete(String, String, Object[])}
+ * (4) Query data in the database. {@link #query(String, String, Object[], String, String)}
  * (5) Raw query data in the database. {@link #rawQuery(String)}
  * (6) Raw command on the database. {@link #execSql(String)}
+ * (7) Group commands in one transaction. {@link #beginTransaction()}
+ *
+ * A transaction belongs to the thread that began it; other threads wait for it to end before they
+ * run their own commands. A failing command inside a transaction throws a {@link SQLiteStatementException},
+ * commands outside a transaction only log their failure.
  *
  * @author Tyler Suehr
  */
@@ -54,6 +69,11 @@ public final class SQLiteDatabase extends SQLiteCloseable {
     private static final String PATH = "jdbc:sqlite:";
     private Connection connection;
     private Statement statement;
+    private final Map<String, PreparedStatement> statementCache = new HashMap<>();
+    private int transactionDepth = 0;
+    private boolean transactionFailed = false;
+    private boolean transactionSuccessful = false;
+    private final ReentrantLock lock = new ReentrantLock();
 
 
     SQLiteDatabase(String dbName) {
@@ -63,6 +83,12 @@ public final class SQLiteDatabase extends SQLiteCloseable {
     @Override
     protected void onAllReferencesReleased() {
         try {
+            synchronized (statementCache) {
+                for (PreparedStatement preparedStatement : statementCache.values()) {
+                    preparedStatement.close();
+                }
+                statementCache.clear();
+            }
             if (statement != null) {
                 this.statement.close();
             }
@@ -85,16 +111,21 @@ public final class SQLiteDatabase extends SQLiteCloseable {
      * @return the results
      */
     public ResultSet query(String table, String selection, String order, String limit) {
-        acquireReference();
-        try {
-            final String SQL = SQLBuilder.createQuery(table, selection, order, limit);
-            return statement.executeQuery(SQL);
-        } catch (SQLException ex) {
-            logException(ex);
-            return null;
-        } finally {
-            releaseReference();
-        }
+        return query(table, null, selection, null, order, limit);
+    }
+
+    /**
+     * Queries data from the SQLite database.
+     *
+     * @param table the name of the table to query
+     * @param selection the WHERE clause with ? placeholders (i.e. "[id]=?")
+     * @param selectionArgs the values for the placeholders in the selection
+     * @param order the ORDER BY clause (i.e. "[timestamp ASC]")
+     * @param limit the LIMIT clause (i.e. "4")
+     * @return the results
+     */
+    public ResultSet query(String table, String selection, Object[] selectionArgs, String order, String limit) {
+        return query(table, null, selection, selectionArgs, order, limit);
     }
 
     /**
@@ -108,15 +139,44 @@ public final class SQLiteDatabase extends SQLiteCloseable {
      * @return the results
      */
     public ResultSet query(String table, String[] columns, String selection, String order, String limit) {
+        return query(table, columns, selection, null, order, limit);
+    }
+
+    /**
+     * Queries data from the SQLite database.
+     * Close the results when done, that also closes the statement.
+     *
+     * @param table the name of the table to query
+     * @param columns string array of columns to select
+     * @param selection the WHERE clause with ? placeholders (i.e. "[id]=?")
+     * @param selectionArgs the values for the placeholders in the selection
+     * @param order the ORDER BY clause (i.e. "[timestamp ASC]")
+     * @param limit the LIMIT clause (i.e. "4")
+     * @return the results
+     */
+    public ResultSet query(String table, String[] columns, String selection, Object[] selectionArgs, String order, String limit) {
         acquireReference();
+        lock.lock();
+        final DatabaseStatementEvent event = new DatabaseStatementEvent();
+        event.begin();
+        final String SQL = SQLBuilder.createQuery(table, columns, selection, order, limit);
+        PreparedStatement preparedStatement = null;
         try {
-            final String SQL = SQLBuilder.createQuery(table, columns, selection, order, limit);
-            return statement.executeQuery(SQL);
+            // Not cached: the results are read after the lock is released,
+            // another thread executing a shared statement would close them
+            preparedStatement = connection.prepareStatement(SQL);
+            bind(preparedStatement, 1, selectionArgs);
+            preparedStatement.closeOnCompletion();
+            return preparedStatement.executeQuery();
         } catch (SQLException ex) {
+            closeQuietly(preparedStatement);
+            throwIfInTransaction(SQL, ex);
             logException(ex);
             return null;
         } finally {
+            event.complete(SQL, -1, 1);
             releaseReference();
+            lock.unlock();
         }
     }
 
@@ -128,11 +188,18 @@ public final class SQLiteDatabase extends SQLiteCloseable {
      */
     public void insert(String table, ContentValues values) {
         acquireReference();
+        lock.lock();
+        final DatabaseStatementEvent event = new DatabaseStatementEvent();
+        event.begin();
+        final String SQL = SQLBuilder.createInsert(table, values.getKeys());
+        int rows = 0;
         try {
-            final String SQL = SQLBuilder.createInsert(table, values);
-            this.statement.executeUpdate(SQL);
-            this.connection.commit();
+            final PreparedStatement preparedStatement = prepare(SQL);
+            bind(preparedStatement, 1, values.getData().toArray());
+            rows = preparedStatement.executeUpdate();
+            commitIfNeeded();
         } catch (SQLException ex) {
+            throwIfInTransaction(SQL, ex);
             if (WirelessRedstone.getInstance() != null) {
                 if (ConfigManager.getConfig().getDebugMode()) {
                     logException(ex);
@@ -141,7 +208,55 @@ public final class SQLiteDatabase extends SQLiteCloseable {
                 logException(ex);
             }
         } finally {
+            event.complete(SQL, rows, 1);
             releaseReference();
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Inserts many rows into one table in a single transaction.
+     * Rows with the same columns share one prepared statement and are sent as one batch.
+     *
+     * @param table the name of the table
+     * @param rows the content to be inserted
+     */
+    public void insertBatch(String table, Collection<ContentValues> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        beginTransaction();
+        try {
+            final Map<String, PreparedStatement> batches = new LinkedHashMap<>();
+            for (ContentValues values : rows) {
+                final String SQL = SQLBuilder.createInsert(table, values.getKeys());
+                final PreparedStatement preparedStatement = prepare(SQL);
+                bind(preparedStatement, 1, values.getData().toArray());
+                preparedStatement.addBatch();
+                batches.putIfAbsent(SQL, preparedStatement);
+            }
+
+            for (Map.Entry<String, PreparedStatement> batch : batches.entrySet()) {
+                final DatabaseStatementEvent event = new DatabaseStatementEvent();
+                event.begin();
+                final int[] counts = batch.getValue().executeBatch();
+                int changed = 0;
+                for (int count : counts) {
+                    changed += Math.max(0, count);
+                }
+                event.complete(batch.getKey(), changed, counts.length);
+            }
+            setTransactionSuccessful();
+        } catch (SQLException ex) {
+            if (transactionDepth > 1) {
+                // Part of a larger transaction, let that one fail as a whole
+                this.transactionFailed = true;
+                throw new SQLiteStatementException("INSERT INTO " + table, ex);
+            }
+            logException(ex);
+        } finally {
+            endTransaction();
         }
     }
 
@@ -153,15 +268,37 @@ public final class SQLiteDatabase extends SQLiteCloseable {
      * @param selection the WHERE clause
      */
     public void update(String table, ContentValues values, String selection) {
+        update(table, values, selection, null);
+    }
+
+    /**
+     * Convenience method for updating data in the SQLite database.
+     *
+     * @param table the name of the table
+     * @param values the content to be updated
+     * @param selection the WHERE clause with ? placeholders
+     * @param selectionArgs the values for the placeholders in the selection
+     */
+    public void update(String table, ContentValues values, String selection, Object[] selectionArgs) {
         acquireReference();
+        lock.lock();
+        final DatabaseStatementEvent event = new DatabaseStatementEvent();
+        event.begin();
+        final String SQL = SQLBuilder.createUpdate(table, values.getKeys(), selection);
+        int rows = 0;
         try {
-            final String SQL = SQLBuilder.createUpdate(table, values, selection);
-            this.statement.executeUpdate(SQL);
-            this.connection.commit();
+            final PreparedStatement preparedStatement = prepare(SQL);
+            int index = bind(preparedStatement, 1, values.getData().toArray());
+            bind(preparedStatement, index, selectionArgs);
+            rows = preparedStatement.executeUpdate();
+            commitIfNeeded();
         } catch (SQLException ex) {
+            throwIfInTransaction(SQL, ex);
             logException(ex);
         } finally {
+            event.complete(SQL, rows, 1);
             releaseReference();
+            lock.unlock();
         }
     }
 
@@ -172,33 +309,65 @@ public final class SQLiteDatabase extends SQLiteCloseable {
      * @param selection the WHERE clause
      */
     public void delete(String table, String selection) {
+        delete(table, selection, null);
+    }
+
+    /**
+     * Convenience method for deleting data in the SQLite database.
+     *
+     * @param table the name of the table
+     * @param selection the WHERE clause with ? placeholders
+     * @param selectionArgs the values for the placeholders in the selection
+     */
+    public void delete(String table, String selection, Object[] selectionArgs) {
         acquireReference();
+        lock.lock();
+        final DatabaseStatementEvent event = new DatabaseStatementEvent();
+        event.begin();
+        final String SQL = SQLBuilder.createDelete(table, selection);
+        int rows = 0;
         try {
-            final String SQL = SQLBuilder.createDelete(table, selection);
-            this.statement.executeUpdate(SQL);
-            this.connection.commit();
+            final PreparedStatement preparedStatement = prepare(SQL);
+            bind(preparedStatement, 1, selectionArgs);
+            rows = preparedStatement.executeUpdate();
+            commitIfNeeded();
         } catch (SQLException ex) {
+            throwIfInTransaction(SQL, ex);
             logException(ex);
         } finally {
+            event.complete(SQL, rows, 1);
             releaseReference();
+            lock.unlock();
         }
     }
 
     /**
      * Queries data from the SQLite database using a raw SQL query.
+     * Close the results when done, that also closes the statement.
      *
      * @param sql the SQL query to run
      * @return the results
      */
     public ResultSet rawQuery(String sql) {
         acquireReference();
+        lock.lock();
+        final DatabaseStatementEvent event = new DatabaseStatementEvent();
+        event.begin();
+        Statement queryStatement = null;
         try {
-            return statement.executeQuery(sql);
+            // The shared statement is also used by execSql, which would close the results
+            queryStatement = connection.createStatement();
+            queryStatement.closeOnCompletion();
+            return queryStatement.executeQuery(sql);
         } catch (SQLException ex) {
+            closeQuietly(queryStatement);
+            throwIfInTransaction(sql, ex);
             logException(ex);
             return null;
         } finally {
+            event.complete(sql, -1, 1);
             releaseReference();
+            lock.unlock();
         }
     }
 
@@ -208,22 +377,125 @@ public final class SQLiteDatabase extends SQLiteCloseable {
      */
     public void execSql(String sql) {
         acquireReference();
+        lock.lock();
+        final DatabaseStatementEvent event = new DatabaseStatementEvent();
+        event.begin();
+        int rows = 0;
         try {
-            this.statement.executeUpdate(sql);
-            this.connection.commit();
+            rows = this.statement.executeUpdate(sql);
+            commitIfNeeded();
+        } catch (SQLException ex) {
+            throwIfInTransaction(sql, ex);
+            logException(ex);
+        } finally {
+            event.complete(sql, rows, 1);
+            releaseReference();
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Begins a transaction. Commands executed until {@link #endTransaction()} are committed at once.
+     * Transactions can be nested, the outermost transaction decides when to commit.
+     *
+     * <pre>
+     * db.beginTransaction();
+     * try {
+     *     ...
+     *     db.setTransactionSuccessful();
+     * } finally {
+     *     db.endTransaction();
+     * }
+     * </pre>
+     */
+    public void beginTransaction() {
+        lock.lock();
+        acquireReference();
+        if (transactionDepth == 0) {
+            this.transactionFailed = false;
+        }
+        this.transactionDepth++;
+        this.transactionSuccessful = false;
+    }
+
+    /**
+     * Marks the current transaction as successful.
+     * Don't execute any more commands between this call and {@link #endTransaction()}.
+     */
+    public void setTransactionSuccessful() {
+        if (!lock.isHeldByCurrentThread() || transactionDepth == 0) {
+            throw new IllegalStateException("No transaction is active");
+        }
+        this.transactionSuccessful = true;
+    }
+
+    /**
+     * Ends the current transaction. When the outermost transaction ends, everything is committed
+     * if all nested transactions were marked successful, otherwise everything is rolled back.
+     *
+     * @throws SQLiteStatementException if the commit failed; everything is rolled back
+     */
+    public void endTransaction() {
+        if (!lock.isHeldByCurrentThread() || transactionDepth == 0) {
+            throw new IllegalStateException("No transaction is active");
+        }
+
+        try {
+            if (!transactionSuccessful) {
+                this.transactionFailed = true;
+            }
+            this.transactionSuccessful = false;
+            this.transactionDepth--;
+
+            if (transactionDepth == 0) {
+                final DatabaseStatementEvent event = new DatabaseStatementEvent();
+                event.begin();
+                if (transactionFailed) {
+                    this.connection.rollback();
+                    event.complete("ROLLBACK", 0, 0);
+                } else {
+                    commitOrRollback();
+                    event.complete("COMMIT", 0, 0);
+                }
+            }
         } catch (SQLException ex) {
             logException(ex);
         } finally {
             releaseReference();
+            lock.unlock();
         }
     }
 
+    /**
+     * Commits the transaction, or rolls it back and throws if the commit failed.
+     */
+    private void commitOrRollback() {
+        try {
+            this.connection.commit();
+        } catch (SQLException ex) {
+            try {
+                this.connection.rollback();
+            } catch (SQLException rollbackEx) {
+                ex.addSuppressed(rollbackEx);
+            }
+            throw new SQLiteStatementException("COMMIT", ex);
+        }
+    }
+
+    /**
+     * @return true if the current thread is in a transaction
+     */
+    public boolean inTransaction() {
+        return lock.isHeldByCurrentThread() && transactionDepth > 0;
+    }
+
     /**
      * Sets the user version of the SQLite database.
      * @param version the user version to be set
      */
     void setVersion(int version) {
         acquireReference();
+        lock.lock();
         try {
             final String SQL = "PRAGMA user_version=" + version;
             this.statement.executeUpdate(SQL);
@@ -232,6 +504,7 @@ public final class SQLiteDatabase extends SQLiteCloseable {
             logException(ex);
         } finally {
             releaseReference();
+            lock.unlock();
         }
     }
 
@@ -241,6 +514,7 @@ public final class SQLiteDatabase extends SQLiteCloseable {
      */
     int getVersion() {
         acquireReference();
+        lock.lock();
         try {
             final String SQL = "PRAGMA user_version";
             ResultSet c = statement.executeQuery(SQL);
@@ -250,6 +524,7 @@ public final class SQLiteDatabase extends SQLiteCloseable {
             return -1;
         } finally {
             releaseReference();
+            lock.unlock();
         }
     }
 
@@ -261,14 +536,98 @@ public final class SQLiteDatabase extends SQLiteCloseable {
         try {
             Class.forName(DRIVER);
             this.connection = DriverManager.getConnection(PATH + dbName);
-            this.connection.setAutoCommit(false);
             this.statement = connection.createStatement();
+
+            // Has to be set before the first transaction; WAL is persisted in the database file
+            this.statement.execute("PRAGMA journal_mode=WAL");
+            this.statement.execute("PRAGMA synchronous=NORMAL");
+
+            this.connection.setAutoCommit(false);
             acquireReference();
         } catch (ClassNotFoundException|SQLException ex) {
             logException(ex);
         }
     }
 
+    /**
+     * Gets the cached prepared statement for a command, or prepares it.
+     * The SQL identifies the table and operation, so every table/operation pair is prepared once.
+     *
+     * @param sql the SQL command with ? placeholders
+     * @return the prepared statement
+     */
+    private PreparedStatement prepare(String sql) throws SQLException {
+        synchronized (statementCache) {
+            PreparedStatement preparedStatement = statementCache.get(sql);
+            if (preparedStatement == null) {
+                preparedStatement = connection.prepareStatement(sql);
+                statementCache.put(sql, preparedStatement);
+            }
+            return preparedStatement;
+        }
+    }
+
+    /**
+     * Binds values to the placeholders of a prepared statement.
+     *
+     * @param preparedStatement the prepared statement
+     * @param index the index of the first placeholder
+     * @param values the values, can be null
+     * @return the index of the next placeholder
+     */
+    private static int bind(PreparedStatement preparedStatement, int index, Object[] values) throws SQLException {
+        if (values == null) {
+            return index;
+        }
+
+        for (Object value : values) {
+            if (value instanceof Boolean) {
+                preparedStatement.setInt(index++, (Boolean) value ? 1 : 0);
+            } else {
+                preparedStatement.setObject(index++, value);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Closes a statement that couldn't be executed.
+     * @param statement the statement, can be null
+     */
+    private static void closeQuietly(Statement statement) {
+        if (statement == null) {
+            return;
+        }
+
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+        }
+    }
+
+    /**
+     * Commits the last command, unless it's part of a transaction.
+     */
+    private void commitIfNeeded() throws SQLException {
+        if (transactionDepth == 0) {
+            this.connection.commit();
+        }
+    }
+
+    /**
+     * Fails the transaction of the current thread, if it has one.
+     * Only call this while holding the lock, so the transaction is the one of the current thread.
+     *
+     * @param sql the command that failed
+     * @param ex the exception
+     */
+    private void throwIfInTransaction(String sql, SQLException ex) {
+        if (transactionDepth > 0) {
+            this.transactionFailed = true;
+            throw new SQLiteStatementException(sql, ex);
+        }
+    }
+
     /**
      * Convenience method to log an exception and print its stacktrace.
      * @param ex the exception
@@ -1,5 +1,8 @@
 package net.licks92.wirelessredstone;
 
+import net.licks92.wirelessredstone.instrumentation.MetricsExport;
+import net.licks92.wirelessredstone.scheduler.ReceiverUpdateMode;
+import net.licks92.wirelessredstone.signs.GateLogic;
 import net.licks92.wirelessredstone.storage.StorageType;
 import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.util.FileUtil;
@@ -164,8 +167,20 @@ public class ConfigManager {
         return config.getBoolean(ConfigPaths.DROPSIGNBROKEN.getValue(), true);
     }
 
-    public boolean useORLogic() {
-        return !config.getString(ConfigPaths.GATELOGIC.getValue(), "OR").equalsIgnoreCase("IGNORE");
+    public GateLogic getGateLogic() {
+        try {
+            return GateLogic.valueOf(config.getString(ConfigPaths.GATELOGIC.getValue(), "OR").toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            return GateLogic.OR;
+        }
+    }
+
+    public Integer getGateThreshold() {
+        return config.getInt(ConfigPaths.GATETHRESHOLD.getValue(), 2);
+    }
+
+    public Integer getMaxChannelsPerPlayer() {
+        return config.getInt(ConfigPaths.MAXCHANNELSPERPLAYER.getValue(), 0);
     }
 
     public Integer getInteractTransmitterTime() {
@@ -176,6 +191,50 @@ public class ConfigManager {
         return config.getInt(ConfigPaths.CACHEREFRESHRATE.getValue(), 150);
     }
 
+    public Integer getStorageFlushInterval() {
+        return config.getInt(ConfigPaths.STORAGEFLUSHINTERVAL.getValue(), 1000);
+    }
+
+    public boolean getSnapshotCache() {
+        return config.getBoolean(ConfigPaths.SNAPSHOTCACHE.getValue(), false);
+    }
+
+    public ReceiverUpdateMode getReceiverUpdateMode() {
+        try {
+            return ReceiverUpdateMode.valueOf(config.getString(ConfigPaths.RECEIVERUPDATEMODE.getValue(), "TICKET").toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            return ReceiverUpdateMode.TICKET;
+        }
+    }
+
+    public Integer getChunkTicketTime() {
+        return config.getInt(ConfigPaths.CHUNKTICKETTIME.getValue(), 100);
+    }
+
+    public Integer getBlockUpdateBudget() {
+        return config.getInt(ConfigPaths.BLOCKUPDATEBUDGET.getValue(), 5000000);
+    }
+
+    public MetricsExport getMetricsExport() {
+        try {
+            return MetricsExport.valueOf(config.getString(ConfigPaths.METRICSEXPORT.getValue(), "NONE").toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            return MetricsExport.NONE;
+        }
+    }
+
+    public Integer getMetricsPort() {
+        return config.getInt(ConfigPaths.METRICSPORT.getValue(), 9225);
+    }
+
+    public Integer getMetricsFileInterval() {
+        return config.getInt(ConfigPaths.METRICSFILEINTERVAL.getValue(), 10);
+    }
+
+    public Integer getMetricsFileMaxSize() {
+        return config.getInt(ConfigPaths.METRICSFILEMAXSIZE.getValue(), 1024);
+    }
+
     public String getLanguage() {
         return config.getString(ConfigPaths.LANGUAGE.getValue(), "en");
     }
@@ -195,6 +254,8 @@ public class ConfigManager {
                 return StorageType.YAML;
             case "SQLITE":
                 return StorageType.SQLITE;
+            case "CHUNK":
+                return StorageType.CHUNK;
             default:
                 return StorageType.YAML;
         }
@@ -205,7 +266,11 @@ public class ConfigManager {
         UPDATECHECK("CheckForUpdates"), USEVAULT("UseVault"), SILENTMODE("SilentMode"),
         INTERACTTRANSMITTERTIME("InteractTransmitterTime"), CACHEREFRESHRATE("CacheRefreshFrequency"),
         GATELOGIC("gateLogic"), SAVEMODE("saveOption"), DROPSIGNBROKEN("DropSignWhenBroken"),
-        METRICS("Metrics"), SENTRY("Sentry");
+        METRICS("Metrics"), SENTRY("Sentry"), STORAGEFLUSHINTERVAL("StorageFlushInterval"),
+        SNAPSHOTCACHE("SnapshotCache"), RECEIVERUPDATEMODE("ReceiverUpdateMode"), CHUNKTICKETTIME("ChunkTicketTime"),
+        GATETHRESHOLD("gateThreshold"), BLOCKUPDATEBUDGET("BlockUpdateBudget"), METRICSEXPORT("MetricsExport"),
+        METRICSPORT("MetricsPort"), METRICSFILEINTERVAL("MetricsFileInterval"), METRICSFILEMAXSIZE("MetricsFileMaxSize"),
+        MAXCHANNELSPERPLAYER("MaxChannelsPerPlayer");
 
         private final String name;
 
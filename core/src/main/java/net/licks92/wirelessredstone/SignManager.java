@@ -2,6 +2,7 @@ package net.licks92.wirelessredstone;
 
 import net.licks92.wirelessredstone.compat.InternalProvider;
 import net.licks92.wirelessredstone.materiallib.data.CrossMaterial;
+import net.licks92.wirelessredstone.signs.SignReader;
 import net.licks92.wirelessredstone.signs.SignType;
 import net.licks92.wirelessredstone.signs.WirelessChannel;
 import net.licks92.wirelessredstone.signs.WirelessPoint;
@@ -11,6 +12,7 @@ import net.licks92.wirelessredstone.signs.WirelessReceiverDelayer;
 import net.licks92.wirelessredstone.signs.WirelessReceiverInverter;
 import net.licks92.wirelessredstone.signs.WirelessReceiverSwitch;
 import net.licks92.wirelessredstone.signs.WirelessScreen;
+import net.licks92.wirelessredstone.signs.WirelessSignTag;
 import net.licks92.wirelessredstone.signs.WirelessTransmitter;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
@@ -42,7 +44,23 @@ public class SignManager {
             return true;
         }
 
-        return channel.getOwners().contains(player.getUniqueId().toString()) || player.hasPermission(Permissions.isWirelessAdmin) || player.isOp();
+        return channel.isOwner(player.getUniqueId()) || player.hasPermission(Permissions.isWirelessAdmin) || player.isOp();
+    }
+
+    /**
+     * Check if the player can create a new WirelessChannel.<br>
+     * Player passed if the player is OP, has isAdmin permission or owns less channels than MaxChannelsPerPlayer.
+     *
+     * @param player Player
+     * @return If the player can create a channel
+     */
+    public boolean canCreateChannel(Player player) {
+        int maxChannels = ConfigManager.getConfig().getMaxChannelsPerPlayer();
+        if (maxChannels <= 0 || player.isOp() || player.hasPermission(Permissions.isWirelessAdmin)) {
+            return true;
+        }
+
+        return WirelessRedstone.getStorageManager().getOwnedChannelCount(player.getUniqueId()) < maxChannels;
     }
 
     /**
@@ -262,6 +280,11 @@ public class SignManager {
         }
 
         WirelessRedstone.getStorage().createWirelessPoint(channelName, point);
+
+        if (block.getState() instanceof Sign) {
+            WirelessSignTag.write((Sign) block.getState(), channelName, type);
+        }
+
         return result;
     }
 
@@ -278,16 +301,19 @@ public class SignManager {
         }
 
         WirelessChannel channel = WirelessRedstone.getStorageManager().getChannel(channelName);
-        WirelessPoint point = channel.getSigns().stream()
-                .filter(pointList -> Utils.sameLocation(pointList.getLocation(), location))
-                .findFirst()
-                .orElse(null);
+        WirelessPoint point = WirelessRedstone.getStorageManager().getWirelessPoint(location);
 
-        if (point == null) {
+        if (point == null || WirelessRedstone.getStorageManager().getChannel(location) != channel) {
             return false;
         }
 
         WirelessRedstone.getStorage().removeWirelessPoint(channelName, point);
+
+        if (location.getWorld() != null && location.getWorld().isChunkLoaded(location.getBlockX() >> 4, location.getBlockZ() >> 4)
+                && location.getBlock().getState() instanceof Sign) {
+            WirelessSignTag.clear((Sign) location.getBlock().getState());
+        }
+
         return true;
     }
 
@@ -298,24 +324,56 @@ public class SignManager {
      * @return Boolean; Sign registred or not
      */
     public boolean isSignRegistred(Location location) {
-        return WirelessRedstone.getStorageManager().getAllSigns().stream()
-                .anyMatch(point -> Utils.sameLocation(point.getLocation(), location));
+        return WirelessRedstone.getStorageManager().getWirelessPoint(location) != null;
     }
 
     public boolean isWirelessRedstoneSign(Block block) {
-        if (!(block.getState() instanceof Sign)) {
+        return isWirelessRedstoneSign(block, new SignReader());
+    }
+
+    /**
+     * Check if a block is a registered WirelessRedstone sign.
+     *
+     * @param block  Block
+     * @param reader SignReader of the current event
+     * @return Boolean; Registered WirelessRedstone sign or not
+     */
+    public boolean isWirelessRedstoneSign(Block block, SignReader reader) {
+        Sign sign = reader.getSign(block);
+        if (sign == null) {
             return false;
         }
 
-        Sign sign = (Sign) block.getState();
-
-        if (Utils.getType(sign.getLine(0), sign.getLine(2)) == null || sign.getLine(1).equalsIgnoreCase("")) {
+        if (!WirelessSignTag.isTagged(sign)
+                && (Utils.getType(sign.getLine(0), sign.getLine(2)) == null || sign.getLine(1).equalsIgnoreCase(""))) {
             return false;
         }
 
         return isSignRegistred(block.getLocation());
     }
 
+    /**
+     * Get the SignType of a sign. Tagged signs are identified without parsing the sign lines.
+     *
+     * @param sign Sign
+     * @return SignType or null if it isn't a WirelessRedstone sign
+     */
+    public SignType getSignType(Sign sign) {
+        SignType type = WirelessSignTag.getSignType(sign);
+        return type != null ? type : Utils.getType(sign.getLine(0), sign.getLine(2));
+    }
+
+    /**
+     * Get the channel name of a sign. Tagged signs are identified without parsing the sign lines.
+     *
+     * @param sign Sign
+     * @return Channel name; empty if the sign doesn't have one
+     */
+    public String getChannelName(Sign sign) {
+        String channelName = WirelessSignTag.getChannelName(sign);
+        return channelName != null ? channelName : sign.getLine(1);
+    }
+
     public HashMap<WirelessChannel, Collection<WirelessPoint>> getAllInvalidPoints() {
         HashMap<WirelessChannel, Collection<WirelessPoint>> map = new HashMap<>();
 
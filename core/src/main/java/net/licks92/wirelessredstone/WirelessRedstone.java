@@ -7,9 +7,19 @@ import net.kyori.adventure.text.format.NamedTextColor;
 import net.licks92.wirelessredstone.commands.Admin.AdminCommandManager;
 import net.licks92.wirelessredstone.commands.CommandManager;
 import net.licks92.wirelessredstone.compat.InternalWorldEditHooker;
+import net.licks92.wirelessredstone.engine.BukkitWorldAdapter;
+import net.licks92.wirelessredstone.engine.SignalEngine;
+import net.licks92.wirelessredstone.instrumentation.Instrumentation;
+import net.licks92.wirelessredstone.instrumentation.TimedListeners;
 import net.licks92.wirelessredstone.listeners.BlockListener;
 import net.licks92.wirelessredstone.listeners.PlayerListener;
 import net.licks92.wirelessredstone.listeners.WorldListener;
+import net.licks92.wirelessredstone.scheduler.BlockUpdateExecutor;
+import net.licks92.wirelessredstone.scheduler.ChannelUpdateQueue;
+import net.licks92.wirelessredstone.scheduler.ChunkTicketLoader;
+import net.licks92.wirelessredstone.scheduler.OwnerMigration;
+import net.licks92.wirelessredstone.scheduler.SignTagMigration;
+import net.licks92.wirelessredstone.scheduler.TimingWheel;
 import net.licks92.wirelessredstone.sentry.WirelessRedstoneSentryClientFactory;
 import net.licks92.wirelessredstone.signs.WirelessReceiver;
 import net.licks92.wirelessredstone.signs.WirelessScreen;
@@ -24,11 +34,13 @@ import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.ConsoleCommandSender;
 import org.bukkit.command.TabCompleter;
 import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.event.Listener;
 import org.bukkit.plugin.PluginManager;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.io.InputStreamReader;
 import java.util.Collections;
+import java.util.List;
 import java.util.Map;
 
 public class WirelessRedstone extends JavaPlugin {
@@ -42,6 +54,14 @@ public class WirelessRedstone extends JavaPlugin {
     private static SignManager signManager;
     private static CommandManager commandManager;
     private static AdminCommandManager adminCommandManager;
+    private static ChannelUpdateQueue channelUpdateQueue;
+    private static TimingWheel timingWheel;
+    private static ChunkTicketLoader chunkTicketLoader;
+    private static BlockUpdateExecutor blockUpdateExecutor;
+    private static SignTagMigration signTagMigration;
+    private static OwnerMigration ownerMigration;
+    private static Instrumentation instrumentation;
+    private static SignalEngine signalEngine;
     private static Metrics metrics;
 
     private ConfigManager config;
@@ -75,6 +95,38 @@ public class WirelessRedstone extends JavaPlugin {
         return commandManager;
     }
 
+    public static ChannelUpdateQueue getChannelUpdateQueue() {
+        return channelUpdateQueue;
+    }
+
+    public static TimingWheel getTimingWheel() {
+        return timingWheel;
+    }
+
+    public static ChunkTicketLoader getChunkTicketLoader() {
+        return chunkTicketLoader;
+    }
+
+    public static BlockUpdateExecutor getBlockUpdateExecutor() {
+        return blockUpdateExecutor;
+    }
+
+    public static SignTagMigration getSignTagMigration() {
+        return signTagMigration;
+    }
+
+    public static OwnerMigration getOwnerMigration() {
+        return ownerMigration;
+    }
+
+    public static Instrumentation getInstrumentation() {
+        return instrumentation;
+    }
+
+    public static SignalEngine getSignalEngine() {
+        return signalEngine;
+    }
+
     public static Strings getStrings() {
         return stringManager.getStrings();
     }
@@ -104,6 +156,7 @@ public class WirelessRedstone extends JavaPlugin {
         sentryEnabled = config.getSentry() && !"TRUE".equalsIgnoreCase(System.getProperty("mc.development"));
 
         stringManager = new StringManager(config.getLanguage());
+        instrumentation = new Instrumentation();
         storageManager = new StorageManager(config.getStorageType(), CHANNEL_FOLDER);
 
         // Initialize storage
@@ -119,6 +172,18 @@ public class WirelessRedstone extends JavaPlugin {
 
         // Initialize managers
         signManager = new SignManager();
+        channelUpdateQueue = new ChannelUpdateQueue();
+        timingWheel = new TimingWheel();
+        timingWheel.start();
+        chunkTicketLoader = new ChunkTicketLoader();
+        blockUpdateExecutor = new BlockUpdateExecutor();
+        blockUpdateExecutor.start();
+        signalEngine = new SignalEngine(new BukkitWorldAdapter(), timingWheel,
+                config.getGateLogic(), config.getGateThreshold(), instrumentation.getChannelActivations());
+        signTagMigration = new SignTagMigration();
+        signTagMigration.start();
+        ownerMigration = new OwnerMigration();
+        ownerMigration.start();
         commandManager = new CommandManager();
         adminCommandManager = new AdminCommandManager();
 
@@ -134,6 +199,7 @@ public class WirelessRedstone extends JavaPlugin {
 
         // Enable metrics (if applicable)
         setupMetrics();
+        setupInstrumentation();
 
         // Check for plugin updates
         checkForUpdates();
@@ -153,8 +219,33 @@ public class WirelessRedstone extends JavaPlugin {
     public void onDisable() {
         wrLogger.info("Disabling WirelessRedstone...");
 
+        if (instrumentation != null) {
+            instrumentation.stop();
+        }
+
+        if (ownerMigration != null) {
+            ownerMigration.stop();
+        }
+
+        if (signTagMigration != null) {
+            signTagMigration.stop();
+        }
+
+        if (blockUpdateExecutor != null) {
+            blockUpdateExecutor.stop();
+        }
+
+        if (chunkTicketLoader != null) {
+            chunkTicketLoader.stop();
+        }
+
+        if (timingWheel != null) {
+            timingWheel.stop();
+        }
+
         if (storageLoaded) {
             getStorageManager().getStorage().close();
+            getStorageManager().writeSnapshot();
         }
 
         if (worldEditHooker != null) {
@@ -201,6 +292,19 @@ public class WirelessRedstone extends JavaPlugin {
                 return Collections.emptyMap();
             }
         }));
+
+        // Receiver and screen updates carried over to the next tick
+        metrics.addCustomChart(new Metrics.SingleLineChart("block_update_backlog", () -> blockUpdateExecutor.getAndResetPeakBacklog()));
+    }
+
+    private void setupInstrumentation() {
+        instrumentation.registerBacklog("block_updates", blockUpdateExecutor::getBacklog);
+        instrumentation.registerBacklog("channel_updates", channelUpdateQueue::size);
+        instrumentation.registerBacklog("timing_wheel", timingWheel::size);
+        instrumentation.registerBacklog("loading_chunks", chunkTicketLoader::getLoadingCount);
+        instrumentation.registerBacklog("deferred_chunks", chunkTicketLoader::getDeferredCount);
+        instrumentation.registerBacklog("chunk_tickets", chunkTicketLoader::getTicketCount);
+        instrumentation.start();
     }
 
     private void setupSentry() {
@@ -234,9 +338,14 @@ public class WirelessRedstone extends JavaPlugin {
     private void registerEvents() {
         PluginManager pm = getServer().getPluginManager();
 
-        pm.registerEvents(new WorldListener(), this);
-        pm.registerEvents(new BlockListener(), this);
-        pm.registerEvents(new PlayerListener(), this);
+        for (Listener listener : List.of(new WorldListener(), new BlockListener(), new PlayerListener())) {
+            // Timing every handler is only worth it when somebody looks at the numbers
+            if (instrumentation.isExporting()) {
+                TimedListeners.register(listener, this, instrumentation.getListenerTime());
+            } else {
+                pm.registerEvents(listener, this);
+            }
+        }
 
         wrLogger.info("Events registered successfully.");
     }
@@ -39,6 +39,7 @@ public class AdminCommandManager implements CommandExecutor, TabCompleter {
         cmds.add(new AdminList());
         cmds.add(new AdminAddOwner());
         cmds.add(new AdminRemoveOwner());
+        cmds.add(new AdminOwned());
         cmds.add(new AdminChangeLanguage());
 //        cmds.add(new AdminConvert());
         cmds.add(new AdminBackup());
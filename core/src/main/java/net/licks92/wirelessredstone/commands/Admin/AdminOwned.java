@@ -0,0 +1,65 @@
+package net.licks92.wirelessredstone.commands.Admin;
+
+import net.licks92.wirelessredstone.commands.CommandInfo;
+import net.licks92.wirelessredstone.commands.WirelessCommand;
+import net.licks92.wirelessredstone.commands.WirelessCommandTabCompletion;
+import net.licks92.wirelessredstone.Utils;
+import net.licks92.wirelessredstone.WirelessRedstone;
+import org.bukkit.Bukkit;
+import org.bukkit.ChatColor;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.command.CommandSender;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+@CommandInfo(description = "Get all channels of an owner", usage = "<playername|uuid>", aliases = {"owned", "o"},
+        tabCompletion = {WirelessCommandTabCompletion.PLAYER},
+        permission = "owned", canUseInConsole = true, canUseInCommandBlock = false)
+public class AdminOwned extends WirelessCommand {
+
+    @Override
+    public void onCommand(CommandSender sender, String[] args) {
+        if (args.length < 1) {
+            Utils.sendFeedback(WirelessRedstone.getStrings().commandTooFewArguments, sender, true);
+            return;
+        }
+
+        UUID owner = getOwner(args[0]);
+        if (owner == null) {
+            Utils.sendFeedback(WirelessRedstone.getStrings().commandNoData, sender, true);
+            return;
+        }
+
+        List<String> channels = new ArrayList<>(WirelessRedstone.getStorageManager().getOwnedChannels(owner));
+        if (channels.isEmpty()) {
+            Utils.sendFeedback(WirelessRedstone.getStrings().commandNoData, sender, true);
+            return;
+        }
+
+        Collections.sort(channels);
+        Utils.sendFeedback(ChatColor.WHITE + WirelessRedstone.getStrings().channelOwnedBy.replaceAll("%%PLAYERNAME", args[0]), sender, false);
+        for (String channel : channels) {
+            Utils.sendCommandFeedback(ChatColor.GRAY + "- " + ChatColor.GREEN + channel, sender, false);
+        }
+    }
+
+    /**
+     * Only players the server already knows are looked up, so this never blocks on a profile request.
+     */
+    private UUID getOwner(String argument) {
+        try {
+            return UUID.fromString(argument);
+        } catch (IllegalArgumentException ignored) {
+        }
+
+        OfflinePlayer player = Bukkit.getPlayerExact(argument);
+        if (player == null) {
+            player = Bukkit.getOfflinePlayerIfCached(argument);
+        }
+
+        return player == null ? null : player.getUniqueId();
+    }
+}
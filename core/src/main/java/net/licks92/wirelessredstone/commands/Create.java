@@ -2,6 +2,7 @@ package net.licks92.wirelessredstone.commands;
 
 import net.licks92.wirelessredstone.signs.SignType;
 import net.licks92.wirelessredstone.signs.WirelessChannel;
+import net.licks92.wirelessredstone.ConfigManager;
 import net.licks92.wirelessredstone.Utils;
 import net.licks92.wirelessredstone.WirelessRedstone;
 import org.bukkit.Location;
@@ -44,15 +45,19 @@ public class Create extends WirelessCommand {
 
         }
 
+        Player player = (Player) sender;
         WirelessChannel channel = WirelessRedstone.getStorageManager().getChannel(cname);
         if (channel != null) {
             if (!hasAccessToChannel(sender, cname)) {
                 Utils.sendFeedback(WirelessRedstone.getStrings().permissionChannelAccess, sender, true);
                 return;
             }
+        } else if (!WirelessRedstone.getSignManager().canCreateChannel(player)) {
+            Utils.sendFeedback(WirelessRedstone.getStrings().channelQuotaReached
+                    .replaceAll("%%MAXCHANNELS", Integer.toString(ConfigManager.getConfig().getMaxChannelsPerPlayer())), sender, true);
+            return;
         }
 
-        Player player = (Player) sender;
         Location location = player.getLocation();
 
         if (location.getBlock().getType() != Material.AIR) {
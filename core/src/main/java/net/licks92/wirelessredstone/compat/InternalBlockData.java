@@ -25,4 +25,14 @@ public interface InternalBlockData {
 
     void setSignRotation(@NotNull Block block, @NotNull BlockFace blockFace);
 
+    /**
+     * Prepare the torch and sign block states of a receiver.
+     *
+     * @param isWallSign   Boolean; The receiver hangs on a wall
+     * @param blockFace    Facing of a wall receiver or rotation of a standing sign
+     * @param applyPhysics Boolean; Apply physics when the block is written
+     * @return Prepared states or null if this server can't prepare them, use the set methods instead
+     */
+    @Nullable ReceiverBlockStates createReceiverStates(boolean isWallSign, @NotNull BlockFace blockFace, boolean applyPhysics);
+
 }
@@ -0,0 +1,19 @@
+package net.licks92.wirelessredstone.compat;
+
+import org.bukkit.block.Block;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Torch and sign block states of one receiver, prepared once so switching the receiver is a single block write.
+ */
+public interface ReceiverBlockStates {
+
+    /**
+     * Write the torch or the sign. Nothing is written if the block already has that state.
+     *
+     * @param block   Block of the receiver
+     * @param powered Boolean; Torch (true) or sign (false)
+     */
+    void apply(@NotNull Block block, boolean powered);
+
+}
@@ -0,0 +1,127 @@
+package net.licks92.wirelessredstone.engine;
+
+import net.licks92.wirelessredstone.WirelessRedstone;
+import net.licks92.wirelessredstone.instrumentation.ReceiverUpdateEvent;
+import net.licks92.wirelessredstone.signs.WirelessChannel;
+import net.licks92.wirelessredstone.signs.WirelessPoint;
+import net.licks92.wirelessredstone.signs.WirelessReceiver;
+import net.licks92.wirelessredstone.signs.WirelessScreen;
+import net.licks92.wirelessredstone.signs.WirelessTransmitter;
+import org.bukkit.World;
+
+/**
+ * {@link WorldAdapter} of a running server.<br>
+ * Writes go through the {@link net.licks92.wirelessredstone.scheduler.BlockUpdateExecutor} and the
+ * {@link net.licks92.wirelessredstone.scheduler.ChunkTicketLoader}, switch states are saved to the storage.
+ */
+public class BukkitWorldAdapter implements WorldAdapter {
+
+    /* How far (in blocks) the blocks are that decide if a transmitter is powered */
+    private static final int POWER_REACH = 2;
+
+    @Override
+    public boolean isChunkLoaded(WirelessPoint point) {
+        World world = point.getBukkitWorld();
+        return world != null && world.isChunkLoaded(point.getChunkX(), point.getChunkZ());
+    }
+
+    @Override
+    public boolean canReadPower(WirelessTransmitter transmitter) {
+        World world = transmitter.getBukkitWorld();
+        if (world == null) {
+            return false;
+        }
+
+        // Indirect power is read from the neighbours of the sign and their neighbours, which can be in other chunks
+        int x = transmitter.getX();
+        int z = transmitter.getZ();
+        for (int chunkX = (x - POWER_REACH) >> 4; chunkX <= (x + POWER_REACH) >> 4; chunkX++) {
+            for (int chunkZ = (z - POWER_REACH) >> 4; chunkZ <= (z + POWER_REACH) >> 4; chunkZ++) {
+                if (!world.isChunkLoaded(chunkX, chunkZ)) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean isPowered(WirelessTransmitter transmitter) {
+        return transmitter.isPowered();
+    }
+
+    @Override
+    public void setReceiverState(WirelessReceiver receiver, String channelName, boolean powered) {
+        World world = receiver.getBukkitWorld();
+        if (world == null) {
+            return;
+        }
+
+        String worldName = receiver.getWorld();
+        int x = receiver.getX();
+        int y = receiver.getY();
+        int z = receiver.getZ();
+        WirelessRedstone.getBlockUpdateExecutor().submitReceiver(world, x, y, z, () ->
+                WirelessRedstone.getChunkTicketLoader().run(world, x, y, z, () -> {
+                    WirelessReceiver current = getRegistered(WirelessReceiver.class, worldName, x, y, z, channelName);
+                    if (current == null) {
+                        return;
+                    }
+
+                    ReceiverUpdateEvent event = new ReceiverUpdateEvent();
+                    event.begin();
+                    current.applyState(powered, channelName);
+                    event.complete(channelName, worldName, x, y, z, powered,
+                            WirelessRedstone.getChunkTicketLoader().isChunkLoadForced());
+                }));
+    }
+
+    @Override
+    public void setScreenState(WirelessScreen screen, boolean channelOn) {
+        World world = screen.getBukkitWorld();
+        if (world == null) {
+            return;
+        }
+
+        String worldName = screen.getWorld();
+        int x = screen.getX();
+        int y = screen.getY();
+        int z = screen.getZ();
+        WirelessRedstone.getBlockUpdateExecutor().submitScreen(world, x, y, z, () ->
+                WirelessRedstone.getChunkTicketLoader().run(world, x, y, z, () -> {
+                    WirelessScreen current = getRegistered(WirelessScreen.class, worldName, x, y, z, null);
+                    if (current != null) {
+                        current.applySign(channelOn);
+                    }
+                }));
+    }
+
+    /**
+     * Look up the point a write is meant for when the write runs. Writes can wait for the tick budget or for
+     * their chunk; the sign may be broken, removed or moved to another channel in the meantime.
+     *
+     * @param channelName Channel the point has to be in; null for any channel
+     * @return Registered point or null if the block no longer holds such a point
+     */
+    private static <T extends WirelessPoint> T getRegistered(Class<T> type, String world, int x, int y, int z, String channelName) {
+        WirelessPoint point = WirelessRedstone.getStorageManager().getWirelessPoint(world, x, y, z);
+        if (!type.isInstance(point)) {
+            return null;
+        }
+
+        if (channelName != null) {
+            WirelessChannel channel = WirelessRedstone.getStorageManager().getChannel(world, x, y, z);
+            if (channel == null || !channelName.equals(channel.getName())) {
+                return null;
+            }
+        }
+
+        return type.cast(point);
+    }
+
+    @Override
+    public void saveSwitchStates(WirelessChannel channel) {
+        WirelessRedstone.getStorage().updateSwitchState(channel);
+    }
+}
@@ -0,0 +1,34 @@
+package net.licks92.wirelessredstone.engine;
+
+/**
+ * Tick based scheduler the {@link SignalEngine} uses for timed channels, delayers and clocks.<br>
+ * On a server this is the {@link net.licks92.wirelessredstone.scheduler.TimingWheel}; a simulation can drive
+ * the same wheel by advancing it by hand.
+ */
+public interface SchedulerAdapter {
+
+    /**
+     * Run a task once after a delay.
+     *
+     * @param task       Task
+     * @param delayTicks Delay in ticks; at least 1
+     * @return Task that can be cancelled
+     */
+    Task schedule(Runnable task, long delayTicks);
+
+    /**
+     * Run a task every period.
+     *
+     * @param task        Task
+     * @param periodTicks Period in ticks; at least 1
+     * @return Task that can be cancelled
+     */
+    Task scheduleRepeating(Runnable task, long periodTicks);
+
+    interface Task {
+        /**
+         * Cancel this task. Safe to call multiple times.
+         */
+        void cancel();
+    }
+}
@@ -0,0 +1,185 @@
+package net.licks92.wirelessredstone.engine;
+
+import net.licks92.wirelessredstone.instrumentation.ChannelPropagationEvent;
+import net.licks92.wirelessredstone.instrumentation.Counter;
+import net.licks92.wirelessredstone.signs.GateLogic;
+import net.licks92.wirelessredstone.signs.WirelessChannel;
+import net.licks92.wirelessredstone.signs.WirelessReceiver;
+import net.licks92.wirelessredstone.signs.WirelessScreen;
+import net.licks92.wirelessredstone.signs.WirelessTransmitter;
+
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Propagates the state of channels to their receivers and screens.<br>
+ * The engine only talks to the world through a {@link WorldAdapter} and to time through a {@link SchedulerAdapter},
+ * so it runs the same on a server and in a headless simulation. It is not thread safe;
+ * drive it from one thread (the server thread on a server).
+ */
+public class SignalEngine {
+
+    private final WorldAdapter world;
+    private final SchedulerAdapter scheduler;
+    private final GateLogic gateLogic;
+    private final int gateThreshold;
+    private final Counter activations;
+
+    /**
+     * @param world         World the engine reads transmitters from and writes receivers to
+     * @param scheduler     Scheduler for timed channels, delayers and clocks
+     * @param gateLogic     How the transmitters of a channel are combined
+     * @param gateThreshold Powered transmitters needed for {@link GateLogic#THRESHOLD}
+     * @param activations   Counter of channel state changes, labeled on and off
+     */
+    public SignalEngine(WorldAdapter world, SchedulerAdapter scheduler, GateLogic gateLogic, int gateThreshold,
+                        Counter activations) {
+        this.world = world;
+        this.scheduler = scheduler;
+        this.gateLogic = gateLogic;
+        this.gateThreshold = gateThreshold;
+        this.activations = activations;
+    }
+
+    public WorldAdapter getWorld() {
+        return world;
+    }
+
+    public SchedulerAdapter getScheduler() {
+        return scheduler;
+    }
+
+    public GateLogic getGateLogic() {
+        return gateLogic;
+    }
+
+    /**
+     * Turn a channel on.
+     *
+     * @param channel WirelessChannel
+     * @param time    Time in ms after which the channel turns off again; 0 to stay on
+     */
+    public void turnOn(WirelessChannel channel, int time) {
+        if (channel.isLocked()) {
+            return;
+        }
+
+        if (time > 0 && time < 50) {
+            throw new IllegalArgumentException("Time must be at least 50ms.");
+        }
+
+        if (channel.isActive()) {
+            return;
+        }
+
+        channel.setActive(true);
+        activations.inc("on");
+
+        String name = channel.getName();
+        ChannelPropagationEvent event = new ChannelPropagationEvent();
+        event.begin();
+        for (WirelessReceiver receiver : channel.getReceivers()) {
+            receiver.turnOn(this, name);
+        }
+        for (WirelessScreen screen : channel.getScreens()) {
+            world.setScreenState(screen, true);
+        }
+        event.complete(name, true, channel.getReceivers().size(), channel.getScreens().size());
+
+        world.saveSwitchStates(channel);
+
+        if (time >= 50) {
+            scheduler.schedule(() -> turnOff(channel, null, true), time / 50);
+        }
+    }
+
+    /**
+     * Turn a channel off, unless the gate logic keeps it on.
+     *
+     * @param channel WirelessChannel
+     * @param skip    Transmitter that shouldn't count as powered, e.g. the one that just lost power; may be null
+     * @param force   Boolean; Ignore the gate logic
+     */
+    public void turnOff(WirelessChannel channel, Predicate<WirelessTransmitter> skip, boolean force) {
+        if (channel.isLocked() || !channel.isActive()) {
+            return;
+        }
+
+        if (gateLogic != GateLogic.IGNORE && !force
+                && gateLogic.isOn(getPoweredTransmitterCount(channel, skip), channel.getTransmitters().size(), gateThreshold)) {
+            return;
+        }
+
+        channel.setActive(false);
+        activations.inc("off");
+
+        String name = channel.getName();
+        ChannelPropagationEvent event = new ChannelPropagationEvent();
+        event.begin();
+        for (WirelessReceiver receiver : channel.getReceivers()) {
+            receiver.turnOff(this, name);
+        }
+        for (WirelessScreen screen : channel.getScreens()) {
+            world.setScreenState(screen, false);
+        }
+        event.complete(name, false, channel.getReceivers().size(), channel.getScreens().size());
+    }
+
+    /**
+     * Record the power state of a transmitter, reported by the redstone events around it.
+     *
+     * @param channel     Channel of the transmitter
+     * @param transmitter Transmitter of this channel
+     * @param powered     New power state
+     */
+    public void setTransmitterPowered(WirelessChannel channel, WirelessTransmitter transmitter, boolean powered) {
+        if (powered) {
+            channel.getPoweredTransmitters(world).add(transmitter);
+        } else {
+            channel.getPoweredTransmitters(world).remove(transmitter);
+        }
+    }
+
+    /**
+     * Read the power of a transmitter from the world and record it.
+     *
+     * @param channel     Channel of the transmitter
+     * @param transmitter Transmitter; ignored if it was removed from the channel or its surroundings aren't loaded
+     */
+    public void refreshTransmitter(WirelessChannel channel, WirelessTransmitter transmitter) {
+        if (!channel.getTransmitters().contains(transmitter) || !world.canReadPower(transmitter)) {
+            return;
+        }
+
+        setTransmitterPowered(channel, transmitter, world.isPowered(transmitter));
+    }
+
+    /**
+     * @param channel WirelessChannel
+     * @return Boolean; The gate logic wants this channel to be on
+     */
+    public boolean isGateOn(WirelessChannel channel) {
+        return gateLogic.isOn(getPoweredTransmitterCount(channel, null), channel.getTransmitters().size(), gateThreshold);
+    }
+
+    /**
+     * @param channel WirelessChannel
+     * @param skip    Transmitter that shouldn't be counted; may be null
+     * @return Amount of powered transmitters
+     */
+    public int getPoweredTransmitterCount(WirelessChannel channel, Predicate<WirelessTransmitter> skip) {
+        Set<WirelessTransmitter> powered = channel.getPoweredTransmitters(world);
+        if (skip == null) {
+            return powered.size();
+        }
+
+        int count = 0;
+        for (WirelessTransmitter transmitter : powered) {
+            if (!skip.test(transmitter)) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,109 @@
+package net.licks92.wirelessredstone.engine;
+
+import net.licks92.wirelessredstone.signs.WirelessChannel;
+import net.licks92.wirelessredstone.signs.WirelessPoint;
+import net.licks92.wirelessredstone.signs.WirelessReceiver;
+import net.licks92.wirelessredstone.signs.WirelessScreen;
+import net.licks92.wirelessredstone.signs.WirelessTransmitter;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory world for the headless engine, used by the unit tests and the benchmarks.<br>
+ * Every chunk is loaded and writes are applied immediately. The last state of every receiver and screen is kept,
+ * so a simulation can check what the world would show.
+ */
+public final class SimulatedWorld implements WorldAdapter {
+
+    private final Set<WirelessTransmitter> powered = Collections.newSetFromMap(new IdentityHashMap<>());
+    private final Map<WirelessReceiver, Boolean> receiverStates = new IdentityHashMap<>();
+    private final Map<WirelessScreen, Boolean> screenStates = new IdentityHashMap<>();
+    private long receiverWrites = 0;
+    private long poweredReceivers = 0;
+    private long screenWrites = 0;
+    private long switchSaves = 0;
+
+    public void setPowered(WirelessTransmitter transmitter, boolean state) {
+        if (state) {
+            powered.add(transmitter);
+        } else {
+            powered.remove(transmitter);
+        }
+    }
+
+    /**
+     * @param receiver Receiver
+     * @return Last written state (torch true, sign false) or null if the receiver was never written
+     */
+    public Boolean getReceiverState(WirelessReceiver receiver) {
+        return receiverStates.get(receiver);
+    }
+
+    /**
+     * @param screen Screen
+     * @return Last written channel state or null if the screen was never written
+     */
+    public Boolean getScreenState(WirelessScreen screen) {
+        return screenStates.get(screen);
+    }
+
+    public long getReceiverWrites() {
+        return receiverWrites;
+    }
+
+    /**
+     * @return Receiver writes that turned a receiver into a torch
+     */
+    public long getPoweredReceivers() {
+        return poweredReceivers;
+    }
+
+    public long getScreenWrites() {
+        return screenWrites;
+    }
+
+    /**
+     * @return Amount of times the switch states of a channel were saved
+     */
+    public long getSwitchSaves() {
+        return switchSaves;
+    }
+
+    @Override
+    public boolean isChunkLoaded(WirelessPoint point) {
+        return true;
+    }
+
+    @Override
+    public boolean canReadPower(WirelessTransmitter transmitter) {
+        return true;
+    }
+
+    @Override
+    public boolean isPowered(WirelessTransmitter transmitter) {
+        return powered.contains(transmitter);
+    }
+
+    @Override
+    public void setReceiverState(WirelessReceiver receiver, String channelName, boolean state) {
+        receiverStates.put(receiver, state);
+        receiverWrites++;
+        if (state) {
+            poweredReceivers++;
+        }
+    }
+
+    @Override
+    public void setScreenState(WirelessScreen screen, boolean channelOn) {
+        screenStates.put(screen, channelOn);
+        screenWrites++;
+    }
+
+    @Override
+    public void saveSwitchStates(WirelessChannel channel) {
+        switchSaves++;
+    }
+}
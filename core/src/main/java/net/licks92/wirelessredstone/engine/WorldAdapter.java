@@ -0,0 +1,55 @@
+package net.licks92.wirelessredstone.engine;
+
+import net.licks92.wirelessredstone.signs.WirelessChannel;
+import net.licks92.wirelessredstone.signs.WirelessPoint;
+import net.licks92.wirelessredstone.signs.WirelessReceiver;
+import net.licks92.wirelessredstone.signs.WirelessScreen;
+import net.licks92.wirelessredstone.signs.WirelessTransmitter;
+
+/**
+ * Everything the {@link SignalEngine} needs from the world. All methods are called on the thread that drives the engine.
+ */
+public interface WorldAdapter {
+
+    /**
+     * @param point WirelessPoint
+     * @return Boolean; The chunk of the point is loaded and its block can be read without loading anything
+     */
+    boolean isChunkLoaded(WirelessPoint point);
+
+    /**
+     * @param transmitter Transmitter
+     * @return Boolean; The blocks that can power the transmitter are loaded, its power can be read without loading anything
+     */
+    boolean canReadPower(WirelessTransmitter transmitter);
+
+    /**
+     * @param transmitter Transmitter for which {@link #canReadPower(WirelessTransmitter)} is true
+     * @return Boolean; The transmitter is powered right now
+     */
+    boolean isPowered(WirelessTransmitter transmitter);
+
+    /**
+     * Write the state of a receiver. The write may be queued, it only has to happen in order.
+     *
+     * @param receiver    Receiver
+     * @param channelName Channel the receiver belongs to
+     * @param powered     Boolean; Torch (true) or sign (false)
+     */
+    void setReceiverState(WirelessReceiver receiver, String channelName, boolean powered);
+
+    /**
+     * Write the channel state on a screen. The write may be queued, it only has to happen in order.
+     *
+     * @param screen    Screen
+     * @param channelOn Boolean; The channel is on
+     */
+    void setScreenState(WirelessScreen screen, boolean channelOn);
+
+    /**
+     * The switch receivers of a channel may have toggled and need to be persisted.
+     *
+     * @param channel WirelessChannel
+     */
+    void saveSwitchStates(WirelessChannel channel);
+}
@@ -0,0 +1,45 @@
+package net.licks92.wirelessredstone.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A channel turned on or off and passed its state to its receivers and screens.
+ */
+@Name("wirelessredstone.ChannelPropagation")
+@Label("Channel Propagation")
+@Category({"WirelessRedstone", "Channels"})
+@Description("A channel changed state and updated its receivers and screens")
+@StackTrace(false)
+public final class ChannelPropagationEvent extends Event {
+
+    @Label("Channel")
+    String channel;
+
+    @Label("Powered")
+    boolean powered;
+
+    @Label("Receivers")
+    int receivers;
+
+    @Label("Screens")
+    int screens;
+
+    /**
+     * End the event and commit it if a recording wants it. The metadata is only set when the event is committed.
+     */
+    public void complete(String channel, boolean powered, int receivers, int screens) {
+        end();
+        if (shouldCommit()) {
+            this.channel = channel;
+            this.powered = powered;
+            this.receivers = receivers;
+            this.screens = screens;
+            commit();
+        }
+    }
+}
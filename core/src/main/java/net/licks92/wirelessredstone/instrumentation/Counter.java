@@ -0,0 +1,43 @@
+package net.licks92.wirelessredstone.instrumentation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Monotonic counter with one optional label. Safe to increment from any thread.
+ */
+public class Counter {
+
+    private final String name;
+    private final String help;
+    private final String labelName;
+    private final Map<String, LongAdder> values = new ConcurrentHashMap<>();
+
+    Counter(String name, String help, String labelName) {
+        this.name = name;
+        this.help = help;
+        this.labelName = labelName;
+    }
+
+    public void inc() {
+        inc("");
+    }
+
+    /**
+     * @param label Value of the label of this counter
+     */
+    public void inc(String label) {
+        values.computeIfAbsent(label, key -> new LongAdder()).increment();
+    }
+
+    void write(StringBuilder out) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" counter\n");
+        values.forEach((label, value) -> {
+            out.append(name);
+            Instrumentation.appendLabel(out, labelName, label, null);
+            out.append(' ').append(value.sum()).append('\n');
+        });
+    }
+}
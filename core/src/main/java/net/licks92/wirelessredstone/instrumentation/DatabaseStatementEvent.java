@@ -0,0 +1,39 @@
+package net.licks92.wirelessredstone.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One statement sent to the SQLite database.
+ */
+@Name("wirelessredstone.DatabaseStatement")
+@Label("Database Statement")
+@Category({"WirelessRedstone", "Storage"})
+@Description("A statement was executed on the SQLite database")
+@StackTrace(false)
+public final class DatabaseStatementEvent extends Event {
+
+    @Label("SQL")
+    String sql;
+
+    @Label("Rows")
+    @Description("Rows changed by the statement, -1 for queries")
+    int rows;
+
+    @Label("Batch Size")
+    int batchSize;
+
+    public void complete(String sql, int rows, int batchSize) {
+        end();
+        if (shouldCommit()) {
+            this.sql = sql;
+            this.rows = rows;
+            this.batchSize = batchSize;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package net.licks92.wirelessredstone.instrumentation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Duration histogram with fixed buckets and one optional label. Safe to observe from any thread.
+ */
+public class Histogram {
+
+    /* Upper bounds in seconds, from 10 microseconds up to a full second */
+    private static final double[] BUCKETS = {
+            0.00001, 0.000025, 0.00005, 0.0001, 0.00025, 0.0005, 0.001, 0.0025, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 1
+    };
+
+    private final String name;
+    private final String help;
+    private final String labelName;
+    private final Map<String, Child> children = new ConcurrentHashMap<>();
+
+    Histogram(String name, String help, String labelName) {
+        this.name = name;
+        this.help = help;
+        this.labelName = labelName;
+    }
+
+    public void observeNanos(long nanos) {
+        child("").observeNanos(nanos);
+    }
+
+    /**
+     * Look up the series of a label once and keep it, for hot paths.
+     *
+     * @param label Value of the label of this histogram
+     * @return Series of this label
+     */
+    public Child child(String label) {
+        return children.computeIfAbsent(label, key -> new Child());
+    }
+
+    void write(StringBuilder out) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(" histogram\n");
+        children.forEach((label, child) -> {
+            long cumulative = 0;
+            for (int i = 0; i <= BUCKETS.length; i++) {
+                cumulative += child.buckets[i].sum();
+                out.append(name).append("_bucket");
+                Instrumentation.appendLabel(out, labelName, label, i < BUCKETS.length ? Double.toString(BUCKETS[i]) : "+Inf");
+                out.append(' ').append(cumulative).append('\n');
+            }
+
+            out.append(name).append("_sum");
+            Instrumentation.appendLabel(out, labelName, label, null);
+            out.append(' ').append(child.sum.sum()).append('\n');
+
+            out.append(name).append("_count");
+            Instrumentation.appendLabel(out, labelName, label, null);
+            out.append(' ').append(child.count.sum()).append('\n');
+        });
+    }
+
+    public static final class Child {
+        private final LongAdder[] buckets = new LongAdder[BUCKETS.length + 1];
+        private final DoubleAdder sum = new DoubleAdder();
+        private final LongAdder count = new LongAdder();
+
+        private Child() {
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        public void observeNanos(long nanos) {
+            double seconds = nanos / 1_000_000_000D;
+            int bucket = 0;
+            while (bucket < BUCKETS.length && seconds > BUCKETS[bucket]) {
+                bucket++;
+            }
+
+            buckets[bucket].increment();
+            sum.add(seconds);
+            count.increment();
+        }
+    }
+}
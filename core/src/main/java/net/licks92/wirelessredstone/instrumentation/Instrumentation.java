@@ -0,0 +1,170 @@
+package net.licks92.wirelessredstone.instrumentation;
+
+import net.licks92.wirelessredstone.ConfigManager;
+import net.licks92.wirelessredstone.WirelessRedstone;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Counters and histograms of the wireless activity, exported in the Prometheus text format.<br>
+ * Counters and histograms can be updated from any thread. Queue backlogs aren't thread safe to read,
+ * so they are sampled on the server thread once per second and the exporters read the last sample.
+ * The metrics are always collected; {@link MetricsExport} only decides if and how they are exported.
+ */
+public class Instrumentation {
+
+    private static final String PREFIX = "wirelessredstone_";
+
+    private final Counter channelActivations = new Counter(PREFIX + "channel_activations_total",
+            "Channels that changed state.", "state");
+    private final Counter blockWrites = new Counter(PREFIX + "block_writes_total",
+            "Receiver and screen block writes.", "type");
+    private final Counter chunkLoads = new Counter(PREFIX + "chunk_loads_total",
+            "Chunks the plugin loaded.", "reason");
+    private final Histogram storageFlush = new Histogram(PREFIX + "storage_flush_seconds",
+            "Time it takes to write a batch of changes to the storage.", null);
+    private final Histogram listenerTime = new Histogram(PREFIX + "listener_seconds",
+            "Time spent in the event listeners of the plugin.", "event");
+
+    private final Map<String, IntSupplier> gauges = new LinkedHashMap<>();
+    private final Map<String, AtomicLong> gaugeSamples = new LinkedHashMap<>();
+
+    private BukkitTask samplingTask;
+    private PrometheusHttpExporter httpExporter;
+    private PrometheusFileExporter fileExporter;
+
+    public Counter getChannelActivations() {
+        return channelActivations;
+    }
+
+    public Counter getBlockWrites() {
+        return blockWrites;
+    }
+
+    public Counter getChunkLoads() {
+        return chunkLoads;
+    }
+
+    public Histogram getStorageFlush() {
+        return storageFlush;
+    }
+
+    public Histogram getListenerTime() {
+        return listenerTime;
+    }
+
+    /**
+     * Register a queue backlog. Call this before {@link #start()}.
+     *
+     * @param queue    Name of the queue
+     * @param supplier Size of the queue; only called on the server thread
+     */
+    public void registerBacklog(String queue, IntSupplier supplier) {
+        gauges.put(queue, supplier);
+        gaugeSamples.put(queue, new AtomicLong());
+    }
+
+    /**
+     * @return Boolean; Metrics are exported and it's worth timing hot paths
+     */
+    public boolean isExporting() {
+        return ConfigManager.getConfig().getMetricsExport() != MetricsExport.NONE;
+    }
+
+    public void start() {
+        MetricsExport export = ConfigManager.getConfig().getMetricsExport();
+        if (export == MetricsExport.NONE || samplingTask != null) {
+            return;
+        }
+
+        samplingTask = Bukkit.getScheduler().runTaskTimer(WirelessRedstone.getInstance(), this::sample, 1L, 20L);
+
+        if (export == MetricsExport.HTTP) {
+            int port = ConfigManager.getConfig().getMetricsPort();
+            try {
+                httpExporter = new PrometheusHttpExporter(this, port);
+                WirelessRedstone.getWRLogger().info("Serving metrics on http://127.0.0.1:" + port + "/metrics");
+            } catch (IOException ex) {
+                WirelessRedstone.getWRLogger().warning("Couldn't serve metrics on port " + port + ": " + ex.getMessage());
+            }
+        } else if (export == MetricsExport.FILE) {
+            fileExporter = new PrometheusFileExporter(this,
+                    new File(WirelessRedstone.getInstance().getDataFolder(), "metrics"),
+                    ConfigManager.getConfig().getMetricsFileInterval(),
+                    ConfigManager.getConfig().getMetricsFileMaxSize() * 1024L);
+            fileExporter.start();
+        }
+    }
+
+    public void stop() {
+        if (samplingTask != null) {
+            samplingTask.cancel();
+            samplingTask = null;
+        }
+
+        if (httpExporter != null) {
+            httpExporter.stop();
+            httpExporter = null;
+        }
+
+        if (fileExporter != null) {
+            fileExporter.stop();
+            fileExporter = null;
+        }
+    }
+
+    /**
+     * @return All metrics in the Prometheus text format
+     */
+    String render() {
+        StringBuilder out = new StringBuilder(4096);
+        channelActivations.write(out);
+        blockWrites.write(out);
+        chunkLoads.write(out);
+        storageFlush.write(out);
+        listenerTime.write(out);
+
+        String backlog = PREFIX + "queue_backlog";
+        out.append("# HELP ").append(backlog).append(" Entries waiting in the queues of the plugin.\n");
+        out.append("# TYPE ").append(backlog).append(" gauge\n");
+        gaugeSamples.forEach((queue, value) -> {
+            out.append(backlog);
+            appendLabel(out, "queue", queue, null);
+            out.append(' ').append(value.get()).append('\n');
+        });
+
+        return out.toString();
+    }
+
+    private void sample() {
+        gauges.forEach((queue, supplier) -> gaugeSamples.get(queue).set(supplier.getAsInt()));
+    }
+
+    static void appendLabel(StringBuilder out, String labelName, String label, String bucket) {
+        boolean hasLabel = labelName != null && !label.isEmpty();
+        if (!hasLabel && bucket == null) {
+            return;
+        }
+
+        out.append('{');
+        if (hasLabel) {
+            out.append(labelName).append("=\"")
+                    .append(label.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n"))
+                    .append('"');
+        }
+        if (bucket != null) {
+            if (hasLabel) {
+                out.append(',');
+            }
+            out.append("le=\"").append(bucket).append('"');
+        }
+        out.append('}');
+    }
+}
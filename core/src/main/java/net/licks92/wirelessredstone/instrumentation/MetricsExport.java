@@ -0,0 +1,5 @@
+package net.licks92.wirelessredstone.instrumentation;
+
+public enum MetricsExport {
+    NONE, HTTP, FILE
+}
@@ -0,0 +1,90 @@
+package net.licks92.wirelessredstone.instrumentation;
+
+import net.licks92.wirelessredstone.WirelessRedstone;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends a timestamped copy of the metrics to metrics.log at a fixed interval.<br>
+ * When the file grows over the maximum size it is rotated to metrics.log.1, the older files shift up
+ * and the oldest one is dropped.
+ */
+class PrometheusFileExporter {
+
+    private static final String FILE_NAME = "metrics.log";
+    private static final int KEEP_FILES = 3;
+
+    private final Instrumentation instrumentation;
+    private final File folder;
+    private final long intervalSeconds;
+    private final long maxSize;
+    private ScheduledExecutorService executor;
+
+    PrometheusFileExporter(Instrumentation instrumentation, File folder, long intervalSeconds, long maxSize) {
+        this.instrumentation = instrumentation;
+        this.folder = folder;
+        this.intervalSeconds = Math.max(1, intervalSeconds);
+        this.maxSize = Math.max(1024, maxSize);
+    }
+
+    void start() {
+        folder.mkdirs();
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "WirelessRedstone-Metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::write, intervalSeconds, intervalSeconds, TimeUnit.SECONDS);
+    }
+
+    void stop() {
+        if (executor == null) {
+            return;
+        }
+
+        executor.shutdown();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        write();
+        executor = null;
+    }
+
+    private synchronized void write() {
+        File file = new File(folder, FILE_NAME);
+        String snapshot = "# " + Instant.now() + "\n" + instrumentation.render() + "\n";
+
+        try {
+            if (file.length() > maxSize) {
+                rotate(file);
+            }
+
+            Files.write(file.toPath(), snapshot.getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException ex) {
+            WirelessRedstone.getWRLogger().warning("Couldn't write the metrics file: " + ex.getMessage());
+        }
+    }
+
+    private void rotate(File file) throws IOException {
+        Files.deleteIfExists(new File(folder, FILE_NAME + "." + KEEP_FILES).toPath());
+        for (int i = KEEP_FILES - 1; i >= 1; i--) {
+            File older = new File(folder, FILE_NAME + "." + i);
+            if (older.exists()) {
+                Files.move(older.toPath(), new File(folder, FILE_NAME + "." + (i + 1)).toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(file.toPath(), new File(folder, FILE_NAME + ".1").toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,55 @@
+package net.licks92.wirelessredstone.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A receiver wrote its new state to the world.
+ */
+@Name("wirelessredstone.ReceiverUpdate")
+@Label("Receiver Update")
+@Category({"WirelessRedstone", "Channels"})
+@Description("A receiver changed the block it powers")
+@StackTrace(false)
+public final class ReceiverUpdateEvent extends Event {
+
+    @Label("Channel")
+    String channel;
+
+    @Label("World")
+    String world;
+
+    @Label("X")
+    int x;
+
+    @Label("Y")
+    int y;
+
+    @Label("Z")
+    int z;
+
+    @Label("Powered")
+    boolean powered;
+
+    @Label("Chunk Load Forced")
+    @Description("The plugin loaded the chunk of the receiver for this update")
+    boolean chunkLoadForced;
+
+    public void complete(String channel, String world, int x, int y, int z, boolean powered, boolean chunkLoadForced) {
+        end();
+        if (shouldCommit()) {
+            this.channel = channel;
+            this.world = world;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.powered = powered;
+            this.chunkLoadForced = chunkLoadForced;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package net.licks92.wirelessredstone.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A redstone change next to a transmitter was checked for transmitter signs.
+ */
+@Name("wirelessredstone.RedstoneHandling")
+@Label("Redstone Handling")
+@Category({"WirelessRedstone", "Listeners"})
+@Description("A redstone change near a transmitter was handled")
+@StackTrace(false)
+public final class RedstoneHandlingEvent extends Event {
+
+    @Label("World")
+    String world;
+
+    @Label("X")
+    int x;
+
+    @Label("Y")
+    int y;
+
+    @Label("Z")
+    int z;
+
+    @Label("Powered")
+    boolean powered;
+
+    @Label("Signs Checked")
+    int signsChecked;
+
+    public void complete(String world, int x, int y, int z, boolean powered, int signsChecked) {
+        end();
+        if (shouldCommit()) {
+            this.world = world;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.powered = powered;
+            this.signsChecked = signsChecked;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package net.licks92.wirelessredstone.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A channel change was queued for, or written to, the storage.
+ */
+@Name("wirelessredstone.StorageWrite")
+@Label("Storage Write")
+@Category({"WirelessRedstone", "Storage"})
+@Description("A channel change was queued for or written to the storage")
+@StackTrace(false)
+public final class StorageWriteEvent extends Event {
+
+    @Label("Storage")
+    String storage;
+
+    @Label("Operation")
+    String operation;
+
+    @Label("Channel")
+    String channel;
+
+    @Label("Queued")
+    @Description("The change was only handed to the storage journal")
+    boolean queued;
+
+    @Label("Bytes")
+    @DataAmount
+    long bytes;
+
+    public void complete(String storage, String operation, String channel, boolean queued, long bytes) {
+        end();
+        if (shouldCommit()) {
+            this.storage = storage;
+            this.operation = operation;
+            this.channel = channel;
+            this.queued = queued;
+            this.bytes = bytes;
+            commit();
+        }
+    }
+}
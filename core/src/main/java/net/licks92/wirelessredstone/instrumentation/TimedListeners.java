@@ -0,0 +1,43 @@
+package net.licks92.wirelessredstone.instrumentation;
+
+import org.bukkit.event.Event;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.Listener;
+import org.bukkit.plugin.EventExecutor;
+import org.bukkit.plugin.Plugin;
+
+import java.lang.reflect.Method;
+
+/**
+ * Registers the handlers of a listener like {@link org.bukkit.plugin.PluginManager#registerEvents(Listener, Plugin)},
+ * but records the time every handler takes per event type.
+ */
+public final class TimedListeners {
+
+    private TimedListeners() {
+    }
+
+    public static void register(Listener listener, Plugin plugin, Histogram histogram) {
+        for (Method method : listener.getClass().getDeclaredMethods()) {
+            EventHandler handler = method.getAnnotation(EventHandler.class);
+            if (handler == null || method.isBridge() || method.isSynthetic() || method.getParameterCount() != 1
+                    || !Event.class.isAssignableFrom(method.getParameterTypes()[0])) {
+                continue;
+            }
+
+            Class<? extends Event> eventClass = method.getParameterTypes()[0].asSubclass(Event.class);
+            EventExecutor executor = EventExecutor.create(method, eventClass);
+            Histogram.Child timings = histogram.child(eventClass.getSimpleName());
+
+            plugin.getServer().getPluginManager().registerEvent(eventClass, listener, handler.priority(),
+                    (registered, event) -> {
+                        long start = System.nanoTime();
+                        try {
+                            executor.execute(registered, event);
+                        } finally {
+                            timings.observeNanos(System.nanoTime() - start);
+                        }
+                    }, plugin, handler.ignoreCancelled());
+        }
+    }
+}
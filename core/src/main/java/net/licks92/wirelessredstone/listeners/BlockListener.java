@@ -4,9 +4,15 @@ import net.licks92.wirelessredstone.ConfigManager;
 import net.licks92.wirelessredstone.Utils;
 import net.licks92.wirelessredstone.WirelessRedstone;
 import net.licks92.wirelessredstone.compat.InternalProvider;
+import net.licks92.wirelessredstone.instrumentation.RedstoneHandlingEvent;
 import net.licks92.wirelessredstone.materiallib.data.CrossMaterial;
+import net.licks92.wirelessredstone.scheduler.ChannelUpdateQueue;
+import net.licks92.wirelessredstone.signs.GateLogic;
+import net.licks92.wirelessredstone.signs.SignReader;
 import net.licks92.wirelessredstone.signs.SignType;
 import net.licks92.wirelessredstone.signs.WirelessChannel;
+import net.licks92.wirelessredstone.signs.WirelessPoint;
+import net.licks92.wirelessredstone.signs.WirelessTransmitter;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -46,9 +52,9 @@ public class BlockListener implements Listener {
                 }
             }
 
-            handleRedstoneEvent(event.getBlock(), event.getNewCurrent() > 0, skipLocation, false); // skipLocation: true
+            handleRedstoneEvent(event.getBlock(), event.getNewCurrent() > 0, skipLocation); // skipLocation: true
         } else {
-            handleRedstoneEvent(event.getBlock(), event.getNewCurrent() > 0, false, event.getNewCurrent() == 0);
+            handleRedstoneEvent(event.getBlock(), event.getNewCurrent() > 0, false);
         }
     }
 
@@ -58,11 +64,8 @@ public class BlockListener implements Listener {
             return;
         }
 
-        if (event.getBlock().getState() == null) {
-            return;
-        }
-
-        if (event.getBlock().getState().getData() == null) {
+        // Most physics updates happen far away from any transmitter, reject those before touching the block
+        if (!isNearTransmitter(event.getBlock())) {
             return;
         }
 
@@ -79,13 +82,13 @@ public class BlockListener implements Listener {
 
         // Testing to handle only dispowering or all events
         if (!isPowered) {
-            handleRedstoneEvent(event.getBlock(), isPowered, false, false);
+            handleRedstoneEvent(event.getBlock(), isPowered, false);
         }
     }
 
     @EventHandler
     public void on(final SignChangeEvent event) {
-        SignType signType = Utils.getType(event.getLine(0), sign.getLine(2));
+        SignType signType = Utils.getType(event.getLine(0), event.getLine(2));
         if (signType == null) {
             return;
         }
@@ -128,6 +131,14 @@ public class BlockListener implements Listener {
             return;
         }
 
+        if (WirelessRedstone.getStorageManager().getChannel(channelName) == null
+                && !WirelessRedstone.getSignManager().canCreateChannel(event.getPlayer())) {
+            handlePlaceCancelled(event.getBlock());
+            Utils.sendFeedback(WirelessRedstone.getStrings().channelQuotaReached
+                    .replaceAll("%%MAXCHANNELS", Integer.toString(ConfigManager.getConfig().getMaxChannelsPerPlayer())), event.getPlayer(), true);
+            return;
+        }
+
         int delay = 0;
         try {
             delay = Integer.parseInt(event.getLine(3));
@@ -156,7 +167,8 @@ public class BlockListener implements Listener {
         //TODO: #registerSign Implement error message if failed
         final int finalDelay = delay;
         Bukkit.getScheduler().runTask(WirelessRedstone.getInstance(), () -> {
-            if (!(event.getBlock().getState() instanceof Sign sign)) {
+            Sign sign = new SignReader().getSign(event.getBlock());
+            if (sign == null) {
                 return;
             }
 
@@ -188,14 +200,14 @@ public class BlockListener implements Listener {
     @EventHandler
     public void on(BlockPlaceEvent event) {
         if (event.getBlock().getType() == Material.REDSTONE_BLOCK || CrossMaterial.REDSTONE_TORCH.equals(event.getBlock().getType())) {
-            handleRedstoneEvent(event.getBlock(), true, false, false);
+            handleRedstoneEvent(event.getBlock(), true, false);
         }
     }
 
     @EventHandler
     public void on(BlockBreakEvent event) {
         if (event.getBlock().getType() == Material.REDSTONE_BLOCK || CrossMaterial.REDSTONE_TORCH.equals(event.getBlock().getType())) {
-            handleRedstoneEvent(event.getBlock(), false, true, false);
+            handleRedstoneEvent(event.getBlock(), false, true);
         }
 
         // MC <= 1.12 #getBlock can be NULL
@@ -203,10 +215,9 @@ public class BlockListener implements Listener {
             return;
         }
 
-        if (event.getBlock().getState() instanceof Sign) {
-            Sign sign = (Sign) event.getBlock().getState();
-
-            SignType signType = Utils.getType(sign.getLine(0), sign.getLine(2));
+        Sign sign = new SignReader().getSign(event.getBlock());
+        if (sign != null) {
+            SignType signType = WirelessRedstone.getSignManager().getSignType(sign);
             if (signType == null) {
                 return;
             }
@@ -233,7 +244,7 @@ public class BlockListener implements Listener {
                 return;
             }
 
-            String channelName = sign.getLine(1);
+            String channelName = WirelessRedstone.getSignManager().getChannelName(sign);
 
             if (!WirelessRedstone.getSignManager().hasAccessToChannel(event.getPlayer(), channelName)) {
                 Utils.sendFeedback(WirelessRedstone.getStrings().permissionDestroySign, event.getPlayer(), true, true);
@@ -246,7 +257,15 @@ public class BlockListener implements Listener {
         }
     }
 
-    private void handleRedstoneEvent(Block block, boolean powered, boolean skipLocation, boolean useScheduler) {
+    private void handleRedstoneEvent(Block block, boolean powered, boolean skipLocation) {
+        if (!isNearTransmitter(block)) {
+            return;
+        }
+
+        RedstoneHandlingEvent event = new RedstoneHandlingEvent();
+        event.begin();
+
+        SignReader signReader = new SignReader();
         Collection<BlockFace> blockFaces = Utils.getAxisBlockFaces();
         List<Location> locations = new ArrayList<>();
         Material type = block.getType();
@@ -298,26 +317,27 @@ public class BlockListener implements Listener {
         }
 
         for (BlockFace blockFace : blockFaces) {
-            if (block.getRelative(blockFace).getState() instanceof Sign) {
+            if (signReader.isSign(block.getRelative(blockFace))) {
                 locations.add(block.getRelative(blockFace).getLocation());
             }
         }
 
         if (!locations.isEmpty()) {
             for (Location location : locations) {
-                if (!(location.getBlock().getState() instanceof Sign)) {
+                Sign sign = signReader.getSign(location.getBlock());
+                if (sign == null) {
                     continue;
                 }
 
-                Sign sign = (Sign) location.getBlock().getState();
-
-                if (useScheduler) {
-                    Bukkit.getScheduler().runTask(WirelessRedstone.getInstance(), () -> updateRedstonePower(sign, powered, skipLocation));
-                } else {
-                    updateRedstonePower(sign, powered, skipLocation);
-                }
+                updateRedstonePower(sign, powered, skipLocation);
             }
         }
+
+        event.complete(block.getWorld().getName(), block.getX(), block.getY(), block.getZ(), powered, locations.size());
+    }
+
+    private boolean isNearTransmitter(Block block) {
+        return WirelessRedstone.getStorageManager().isNearTransmitter(block.getWorld().getName(), block.getX() >> 4, block.getZ() >> 4);
     }
 
     private void handlePlaceCancelled(Block block) {
@@ -334,21 +354,30 @@ public class BlockListener implements Listener {
             WirelessRedstone.getWRLogger().debug("Redstone power update (" + powered + "): " + sign.getLocation());
         }
 
-        if (Utils.getType(sign.getLine(0), sign.getLine(2)) != SignType.TRANSMITTER)
+        if (WirelessRedstone.getSignManager().getSignType(sign) != SignType.TRANSMITTER)
             return;
 
-        if (sign.getLine(1).equalsIgnoreCase(""))
+        String channelName = WirelessRedstone.getSignManager().getChannelName(sign);
+        if (channelName.equalsIgnoreCase(""))
             return;
 
-        WirelessChannel channel = WirelessRedstone.getStorageManager().getChannel(sign.getLine(1));
+        WirelessChannel channel = WirelessRedstone.getStorageManager().getChannel(channelName);
         if (channel == null) {
             return;
         }
 
-        if (powered) {
-            channel.turnOn();
+        // Channel transitions are applied once at the end of the tick
+        ChannelUpdateQueue queue = WirelessRedstone.getChannelUpdateQueue();
+        WirelessPoint point = WirelessRedstone.getStorageManager().getWirelessPoint(sign.getLocation());
+        if (point instanceof WirelessTransmitter) {
+            // The event describes its source block, the real power of the transmitter is read at the end of the tick
+            queue.refreshTransmitter(channel, (WirelessTransmitter) point);
+        }
+
+        if (ConfigManager.getConfig().getGateLogic() == GateLogic.IGNORE) {
+            queue.request(channel, powered, skipLocation ? sign.getLocation() : null);
         } else {
-            channel.turnOff(skipLocation ? sign.getLocation() : null);
+            queue.requestGate(channel);
         }
     }
 
@@ -3,6 +3,7 @@ package net.licks92.wirelessredstone.listeners;
 import net.licks92.wirelessredstone.compat.InternalProvider;
 import net.licks92.wirelessredstone.ConfigManager;
 import net.licks92.wirelessredstone.Permissions;
+import net.licks92.wirelessredstone.signs.SignReader;
 import net.licks92.wirelessredstone.signs.SignType;
 import net.licks92.wirelessredstone.signs.WirelessChannel;
 import net.licks92.wirelessredstone.UpdateChecker;
@@ -35,12 +36,12 @@ public class PlayerListener implements Listener {
             return;
         }
 
-        if (!(event.getClickedBlock().getState() instanceof Sign)) {
+        Sign sign = new SignReader().getSign(event.getClickedBlock());
+        if (sign == null) {
             return;
         }
 
-        Sign sign = (Sign) event.getClickedBlock().getState();
-        SignType signType = Utils.getType(sign.getLine(0), sign.getLine(2));
+        SignType signType = WirelessRedstone.getSignManager().getSignType(sign);
         if (signType == null) {
             return;
         }
@@ -67,21 +68,25 @@ public class PlayerListener implements Listener {
             return;
         }
 
-        signType = Utils.getType(sign.getLine(0), sign.getLine(2));
-
-        if (sign.getLine(1).equalsIgnoreCase("")) {
+        String channelName = WirelessRedstone.getSignManager().getChannelName(sign);
+        if (channelName.equalsIgnoreCase("")) {
             handlePlaceCancelled(event.getClickedBlock());
             Utils.sendFeedback(WirelessRedstone.getStrings().noChannelName, event.getPlayer(), true);
             return;
         }
 
-        WirelessChannel channel = WirelessRedstone.getStorageManager().getChannel(sign.getLine(1));
+        WirelessChannel channel = WirelessRedstone.getStorageManager().getChannel(channelName);
         if (channel != null) {
-            if (!WirelessRedstone.getSignManager().hasAccessToChannel(event.getPlayer(), sign.getLine(1))) {
+            if (!WirelessRedstone.getSignManager().hasAccessToChannel(event.getPlayer(), channelName)) {
                 Utils.sendFeedback(WirelessRedstone.getStrings().permissionChannelAccess, event.getPlayer(), true);
                 handlePlaceCancelled(event.getClickedBlock());
                 return;
             }
+        } else if (!WirelessRedstone.getSignManager().canCreateChannel(event.getPlayer())) {
+            Utils.sendFeedback(WirelessRedstone.getStrings().channelQuotaReached
+                    .replaceAll("%%MAXCHANNELS", Integer.toString(ConfigManager.getConfig().getMaxChannelsPerPlayer())), event.getPlayer(), true);
+            handlePlaceCancelled(event.getClickedBlock());
+            return;
         }
 
         if (WirelessRedstone.getSignManager().isSignRegistred(event.getClickedBlock().getLocation())) {
@@ -106,9 +111,9 @@ public class PlayerListener implements Listener {
         BlockFace signDirection = InternalProvider.getCompatBlockData().getSignRotation(sign.getBlock());
 
         int result = WirelessRedstone.getSignManager().registerSign(
-                sign.getLine(1),
+                channelName,
                 event.getClickedBlock(),
-                Utils.getType(sign.getLine(0), sign.getLine(2)),
+                signType,
                 signDirection,
                 Collections.singletonList(event.getPlayer().getUniqueId().toString()),
                 delay
@@ -129,6 +134,8 @@ public class PlayerListener implements Listener {
 
     @EventHandler
     public void on(PlayerJoinEvent event) {
+        WirelessRedstone.getOwnerMigration().onPlayerJoin(event.getPlayer());
+
         if (!event.getPlayer().hasPermission(Permissions.isWirelessAdmin)) {
             return;
         }
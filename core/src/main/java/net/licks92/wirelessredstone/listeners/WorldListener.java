@@ -1,9 +1,68 @@
 package net.licks92.wirelessredstone.listeners;
 
+import net.licks92.wirelessredstone.ConfigManager;
+import net.licks92.wirelessredstone.WirelessRedstone;
+import net.licks92.wirelessredstone.scheduler.ChannelUpdateQueue;
+import net.licks92.wirelessredstone.signs.GateLogic;
+import net.licks92.wirelessredstone.signs.WirelessPoint;
+import net.licks92.wirelessredstone.signs.WirelessTransmitter;
+import net.licks92.wirelessredstone.storage.WirelessPointIndex;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
+import org.bukkit.event.world.ChunkLoadEvent;
+import org.bukkit.event.world.WorldLoadEvent;
+import org.bukkit.event.world.WorldUnloadEvent;
 
 public class WorldListener implements Listener {
 
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void on(WorldLoadEvent event) {
+        WirelessPoint.invalidateWorlds();
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void on(WorldUnloadEvent event) {
+        if (!event.isCancelled()) {
+            WirelessPoint.invalidateWorlds();
+            // The world is still loaded during this event, drop references cached in the meantime as well
+            Bukkit.getScheduler().runTask(WirelessRedstone.getInstance(), WirelessPoint::invalidateWorlds);
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void on(ChunkLoadEvent event) {
+        WirelessRedstone.getStorage().onChunkLoad(event.getChunk());
+        WirelessRedstone.getChunkTicketLoader().onChunkLoad(event.getChunk());
+        WirelessRedstone.getSignTagMigration().queue(event.getChunk());
+        updatePoweredTransmitters(event.getChunk());
+    }
+
+    /**
+     * Powered transmitters are tracked from redstone events, which don't fire for a chunk that loads already powered.
+     * Check the transmitters of the chunk on the next tick, so the gate logic counts them. Nothing is read
+     * during the event; transmitters next to a chunk that isn't loaded keep their last known state.
+     */
+    private void updatePoweredTransmitters(Chunk chunk) {
+        String world = chunk.getWorld().getName();
+        if (!WirelessRedstone.getStorageManager().hasSignsInChunk(world, chunk.getX(), chunk.getZ())) {
+            return;
+        }
+
+        ChannelUpdateQueue queue = WirelessRedstone.getChannelUpdateQueue();
+        boolean useGate = ConfigManager.getConfig().getGateLogic() != GateLogic.IGNORE;
+        for (WirelessPointIndex.Entry entry : WirelessRedstone.getStorageManager().getSignsInChunk(world, chunk.getX(), chunk.getZ())) {
+            if (entry.point() instanceof WirelessTransmitter transmitter) {
+                queue.refreshTransmitter(entry.channel(), transmitter);
+                if (useGate) {
+                    queue.requestGate(entry.channel());
+                }
+            }
+        }
+    }
+
     // Method borrowed from MinecraftMania! Credits to Afforess!
     // https://github.com/Afforess/MinecartMania/blob/master/src/com/afforess/minecartmaniacore/api/MinecartManiaCoreWorldListener.java
 //    @EventHandler
@@ -0,0 +1,152 @@
+package net.licks92.wirelessredstone.scheduler;
+
+import net.licks92.wirelessredstone.ConfigManager;
+import net.licks92.wirelessredstone.WirelessRedstone;
+import net.licks92.wirelessredstone.storage.WirelessPointIndex;
+import org.bukkit.Bukkit;
+import org.bukkit.World;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Applies receiver and screen block writes within a time budget per tick.<br>
+ * Writes run right away while the budget of the current tick lasts; the rest is queued and
+ * carried over to the next ticks in order. Receivers always go before screens, a screen
+ * showing the wrong state for a tick matters less than a receiver that isn't switched yet.<br>
+ * Only the latest queued write of every block is kept, it takes the place of the first one in the queue.
+ * A channel that toggles faster than the budget drains never queues more than one write per block.
+ */
+public class BlockUpdateExecutor {
+
+    private final long budgetNanos;
+    private final Map<BlockKey, Runnable> receivers = new LinkedHashMap<>();
+    private final Map<BlockKey, Runnable> screens = new LinkedHashMap<>();
+    private long usedNanos = 0;
+    private int peakBacklog = 0;
+    private BukkitTask task;
+
+    public BlockUpdateExecutor() {
+        this.budgetNanos = ConfigManager.getConfig().getBlockUpdateBudget();
+    }
+
+    public void start() {
+        if (task != null) {
+            return;
+        }
+
+        task = Bukkit.getScheduler().runTaskTimer(WirelessRedstone.getInstance(), this::tick, 1L, 1L);
+    }
+
+    /**
+     * Stop the executor. Queued writes are applied right away, regardless of the budget.
+     */
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+
+        drain(receivers, Long.MAX_VALUE);
+        drain(screens, Long.MAX_VALUE);
+    }
+
+    /**
+     * Queue a receiver write.
+     *
+     * @param world  World of the block
+     * @param x      Block x
+     * @param y      Block y
+     * @param z      Block z
+     * @param update Block write; replaces a queued write of the same block
+     */
+    public void submitReceiver(World world, int x, int y, int z, Runnable update) {
+        WirelessRedstone.getInstrumentation().getBlockWrites().inc("receiver");
+        if (receivers.isEmpty() && hasBudget()) {
+            runTimed(update);
+        } else {
+            receivers.put(new BlockKey(world.getUID(), WirelessPointIndex.pack(x, y, z)), update);
+        }
+    }
+
+    /**
+     * Queue a screen write. Screens only run after all queued receivers.
+     *
+     * @param world  World of the block
+     * @param x      Block x
+     * @param y      Block y
+     * @param z      Block z
+     * @param update Block write; replaces a queued write of the same block
+     */
+    public void submitScreen(World world, int x, int y, int z, Runnable update) {
+        WirelessRedstone.getInstrumentation().getBlockWrites().inc("screen");
+        if (receivers.isEmpty() && screens.isEmpty() && hasBudget()) {
+            runTimed(update);
+        } else {
+            screens.put(new BlockKey(world.getUID(), WirelessPointIndex.pack(x, y, z)), update);
+        }
+    }
+
+    /**
+     * @return Amount of writes waiting for a next tick
+     */
+    public int getBacklog() {
+        return receivers.size() + screens.size();
+    }
+
+    /**
+     * @return Highest backlog at the start of a tick since the last call
+     */
+    public int getAndResetPeakBacklog() {
+        int peak = peakBacklog;
+        peakBacklog = getBacklog();
+        return peak;
+    }
+
+    private void tick() {
+        usedNanos = 0;
+        peakBacklog = Math.max(peakBacklog, getBacklog());
+
+        if (receivers.isEmpty() && screens.isEmpty()) {
+            return;
+        }
+
+        drain(receivers, budgetNanos);
+        if (receivers.isEmpty()) {
+            drain(screens, budgetNanos);
+        }
+    }
+
+    private void drain(Map<BlockKey, Runnable> queue, long budget) {
+        // A write can queue new writes, so take a fresh iterator for every write
+        while (usedNanos < budget && !queue.isEmpty()) {
+            Iterator<Runnable> updates = queue.values().iterator();
+            Runnable update = updates.next();
+            updates.remove();
+            runTimed(update);
+        }
+    }
+
+    private boolean hasBudget() {
+        return budgetNanos <= 0 || usedNanos < budgetNanos;
+    }
+
+    private void runTimed(Runnable update) {
+        long start = System.nanoTime();
+        try {
+            update.run();
+        } catch (RuntimeException ex) {
+            WirelessRedstone.getWRLogger().warning("Block update threw an exception: " + ex.getMessage());
+            ex.printStackTrace();
+        } finally {
+            if (budgetNanos > 0) {
+                usedNanos += System.nanoTime() - start;
+            }
+        }
+    }
+
+    private record BlockKey(UUID world, long position) {}
+}
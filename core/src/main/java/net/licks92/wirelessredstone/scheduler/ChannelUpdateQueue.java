@@ -0,0 +1,120 @@
+package net.licks92.wirelessredstone.scheduler;
+
+import net.licks92.wirelessredstone.WirelessRedstone;
+import net.licks92.wirelessredstone.signs.WirelessChannel;
+import net.licks92.wirelessredstone.signs.WirelessTransmitter;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects the requested power state of every channel during a tick and applies each channel once.<br>
+ * A lever flip can fire dozens of redstone and physics events for the same transmitter,
+ * only the last requested state of a channel is applied.
+ */
+public class ChannelUpdateQueue {
+
+    private final Map<String, PendingUpdate> pending = new LinkedHashMap<>();
+    private final Map<WirelessTransmitter, WirelessChannel> transmitters = new LinkedHashMap<>();
+    private boolean flushScheduled = false;
+
+    /**
+     * Request a state change for a channel. The change is applied when the current tick is done.
+     *
+     * @param channel      WirelessChannel
+     * @param powered      Requested state
+     * @param skipLocation Transmitter location to ignore when checking OR logic; can be null
+     */
+    public void request(WirelessChannel channel, boolean powered, Location skipLocation) {
+        pending.put(channel.getName(), new PendingUpdate(channel, false, powered, skipLocation));
+        scheduleFlush();
+    }
+
+    /**
+     * Request the state the gate logic wants for a channel. The gate is evaluated when the current tick is done,
+     * after the transmitters passed to {@link #refreshTransmitter(WirelessChannel, WirelessTransmitter)} are read.
+     *
+     * @param channel WirelessChannel
+     */
+    public void requestGate(WirelessChannel channel) {
+        pending.put(channel.getName(), new PendingUpdate(channel, true, false, null));
+        scheduleFlush();
+    }
+
+    /**
+     * Read the power of a transmitter when the current tick is done.<br>
+     * Redstone events only describe their source block; the transmitter can still be powered by another source.
+     * Every transmitter is read once per tick, no matter how many events reached it.
+     *
+     * @param channel     Channel of the transmitter
+     * @param transmitter Transmitter
+     */
+    public void refreshTransmitter(WirelessChannel channel, WirelessTransmitter transmitter) {
+        transmitters.put(transmitter, channel);
+        scheduleFlush();
+    }
+
+    /**
+     * Apply all pending channel updates.
+     * Updates requested while flushing (receivers powering transmitters) are applied on the next flush.
+     */
+    public void flush() {
+        flushScheduled = false;
+
+        if (!transmitters.isEmpty()) {
+            Collection<Map.Entry<WirelessTransmitter, WirelessChannel>> refresh = new ArrayList<>(transmitters.entrySet());
+            transmitters.clear();
+
+            for (Map.Entry<WirelessTransmitter, WirelessChannel> entry : refresh) {
+                if (isCurrent(entry.getValue())) {
+                    WirelessRedstone.getSignalEngine().refreshTransmitter(entry.getValue(), entry.getKey());
+                }
+            }
+        }
+
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        Collection<PendingUpdate> updates = new ArrayList<>(pending.values());
+        pending.clear();
+
+        for (PendingUpdate update : updates) {
+            // Channel got removed or replaced before the end of the tick
+            if (!isCurrent(update.channel())) {
+                continue;
+            }
+
+            if (update.gate() ? update.channel().isGateOn() : update.powered()) {
+                update.channel().turnOn();
+            } else {
+                update.channel().turnOff(update.skipLocation());
+            }
+        }
+    }
+
+    public int size() {
+        return pending.size() + transmitters.size();
+    }
+
+    private void scheduleFlush() {
+        if (!flushScheduled) {
+            flushScheduled = true;
+            Bukkit.getScheduler().runTask(WirelessRedstone.getInstance(), this::flush);
+        }
+    }
+
+    private boolean isCurrent(WirelessChannel channel) {
+        return WirelessRedstone.getStorageManager().getChannel(channel.getName()) == channel;
+    }
+
+    /**
+     * @param gate    Boolean; Ask the gate logic for the state instead of using powered
+     * @param powered Requested state
+     */
+    private record PendingUpdate(WirelessChannel channel, boolean gate, boolean powered, Location skipLocation) {}
+}
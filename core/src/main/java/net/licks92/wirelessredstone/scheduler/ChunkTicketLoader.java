@@ -0,0 +1,256 @@
+package net.licks92.wirelessredstone.scheduler;
+
+import net.licks92.wirelessredstone.ConfigManager;
+import net.licks92.wirelessredstone.WirelessRedstone;
+import net.licks92.wirelessredstone.storage.WirelessPointIndex;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.World;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Runs block updates once the chunk of the block is loaded, without blocking the server thread on chunk I/O.<br>
+ * Unloaded chunks are requested with {@link World#getChunkAtAsync(int, int)}; updates for that chunk are queued
+ * until it is ready. The chunk then gets a plugin chunk ticket that is released after a configurable time,
+ * so receivers that toggle often (clocks, busy channels) don't load and unload their chunk over and over.<br>
+ * In {@link ReceiverUpdateMode#DEFERRED} unloaded chunks are never loaded. Only the latest update of every block
+ * is remembered and run once the chunk is loaded by the server, see {@link #onChunkLoad(Chunk)}.<br>
+ * Updates only hold the desired state of their block and check that the sign is still registered when they run,
+ * so a sign that is removed while its update waits is never written back. Updates that are still waiting when the
+ * plugin stops are written right away, see {@link #stop()}.
+ */
+public class ChunkTicketLoader {
+
+    private final ReceiverUpdateMode mode;
+    private final long ticketTicks;
+    private final Map<ChunkKey, List<Runnable>> loading = new HashMap<>();
+    private final Map<ChunkKey, TimingWheel.Timeout> tickets = new HashMap<>();
+    private final Map<ChunkKey, Map<Long, Runnable>> deferred = new HashMap<>();
+    private boolean chunkLoadForced = false;
+
+    public ChunkTicketLoader() {
+        this.mode = ConfigManager.getConfig().getReceiverUpdateMode();
+        this.ticketTicks = Math.max(1, ConfigManager.getConfig().getChunkTicketTime());
+    }
+
+    /**
+     * Run a block update when the chunk of the block is loaded.
+     * Updates of the same chunk are always run in the order they are requested.
+     *
+     * @param world  World of the block
+     * @param x      Block x
+     * @param y      Block y
+     * @param z      Block z
+     * @param update Block update; runs on the server thread
+     */
+    public void run(World world, int x, int y, int z, Runnable update) {
+        int chunkX = x >> 4;
+        int chunkZ = z >> 4;
+
+        if (mode == ReceiverUpdateMode.SYNC) {
+            boolean forced = !world.isChunkLoaded(chunkX, chunkZ);
+            if (forced) {
+                WirelessRedstone.getInstrumentation().getChunkLoads().inc("sync");
+            }
+            world.loadChunk(chunkX, chunkZ);
+            runForced(update, forced);
+            return;
+        }
+
+        ChunkKey key = new ChunkKey(world.getUID(), chunkX, chunkZ);
+
+        if (mode == ReceiverUpdateMode.DEFERRED) {
+            Map<Long, Runnable> pending = deferred.get(key);
+            if (pending == null && world.isChunkLoaded(chunkX, chunkZ)) {
+                update.run();
+                return;
+            }
+
+            // Replaces the previous update of this block, only the latest state matters
+            deferred.computeIfAbsent(key, k -> new LinkedHashMap<>())
+                    .put(WirelessPointIndex.pack(x, y, z), update);
+            return;
+        }
+
+        List<Runnable> queued = loading.get(key);
+        if (queued != null) {
+            queued.add(update);
+            return;
+        }
+
+        if (world.isChunkLoaded(chunkX, chunkZ)) {
+            // Only extend tickets of chunks this loader loaded; chunks loaded by players don't need one
+            if (tickets.containsKey(key)) {
+                refreshTicket(world, key);
+            }
+            update.run();
+            return;
+        }
+
+        queued = new ArrayList<>();
+        queued.add(update);
+        loading.put(key, queued);
+        WirelessRedstone.getInstrumentation().getChunkLoads().inc("ticket");
+
+        world.getChunkAtAsync(chunkX, chunkZ).whenComplete((chunk, ex) -> {
+            List<Runnable> updates = loading.remove(key);
+            if (updates == null) {
+                return;
+            }
+
+            if (ex != null) {
+                WirelessRedstone.getWRLogger().warning("Couldn't load chunk " + chunkX + ", " + chunkZ + " in " + world.getName()
+                        + ": " + ex.getMessage() + ". Dropping " + updates.size() + " block updates.");
+                return;
+            }
+
+            refreshTicket(world, key);
+            for (Runnable queuedUpdate : updates) {
+                try {
+                    runForced(queuedUpdate, true);
+                } catch (RuntimeException updateEx) {
+                    WirelessRedstone.getWRLogger().warning("Block update threw an exception: " + updateEx.getMessage());
+                    updateEx.printStackTrace();
+                }
+            }
+        });
+    }
+
+    /**
+     * Run the deferred updates of a chunk that got loaded.
+     * The updates run on the next tick, blocks shouldn't be changed while the chunk is being loaded.
+     *
+     * @param chunk Loaded chunk
+     */
+    public void onChunkLoad(Chunk chunk) {
+        if (deferred.isEmpty()) {
+            return;
+        }
+
+        ChunkKey key = new ChunkKey(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ());
+        if (!deferred.containsKey(key)) {
+            return;
+        }
+
+        Bukkit.getScheduler().runTask(WirelessRedstone.getInstance(), () -> {
+            // Unloaded again before the next tick, keep the updates for the next load
+            if (!chunk.isLoaded()) {
+                return;
+            }
+
+            Map<Long, Runnable> updates = deferred.remove(key);
+            if (updates == null) {
+                return;
+            }
+
+            for (Runnable update : updates.values()) {
+                try {
+                    update.run();
+                } catch (RuntimeException ex) {
+                    WirelessRedstone.getWRLogger().warning("Block update threw an exception: " + ex.getMessage());
+                    ex.printStackTrace();
+                }
+            }
+        });
+    }
+
+    /**
+     * Write the updates that are still waiting for their chunk and release all chunk tickets.
+     * The chunks are loaded on the server thread; otherwise those blocks keep the wrong state after a restart.
+     */
+    public void stop() {
+        flush(loading);
+        loading.clear();
+        Map<ChunkKey, List<Runnable>> waiting = new HashMap<>();
+        deferred.forEach((key, updates) -> waiting.put(key, new ArrayList<>(updates.values())));
+        deferred.clear();
+        flush(waiting);
+
+        tickets.values().forEach(TimingWheel.Timeout::cancel);
+        tickets.clear();
+
+        for (World world : Bukkit.getWorlds()) {
+            world.removePluginChunkTickets(WirelessRedstone.getInstance());
+        }
+    }
+
+    /**
+     * @return Boolean; The block update that is running right now had to load its chunk
+     */
+    public boolean isChunkLoadForced() {
+        return chunkLoadForced;
+    }
+
+    /**
+     * @return Amount of chunks that are held by a ticket
+     */
+    public int getTicketCount() {
+        return tickets.size();
+    }
+
+    /**
+     * @return Amount of chunks that are still loading
+     */
+    public int getLoadingCount() {
+        return loading.size();
+    }
+
+    /**
+     * @return Amount of chunks with deferred updates
+     */
+    public int getDeferredCount() {
+        return deferred.size();
+    }
+
+    private void flush(Map<ChunkKey, List<Runnable>> updates) {
+        for (Map.Entry<ChunkKey, List<Runnable>> entry : updates.entrySet()) {
+            World world = Bukkit.getWorld(entry.getKey().world());
+            if (world == null) {
+                continue;
+            }
+
+            boolean forced = !world.isChunkLoaded(entry.getKey().x(), entry.getKey().z());
+            world.getChunkAt(entry.getKey().x(), entry.getKey().z());
+            for (Runnable update : entry.getValue()) {
+                try {
+                    runForced(update, forced);
+                } catch (RuntimeException ex) {
+                    WirelessRedstone.getWRLogger().warning("Block update threw an exception: " + ex.getMessage());
+                    ex.printStackTrace();
+                }
+            }
+        }
+    }
+
+    private void runForced(Runnable update, boolean forced) {
+        chunkLoadForced = forced;
+        try {
+            update.run();
+        } finally {
+            chunkLoadForced = false;
+        }
+    }
+
+    private void refreshTicket(World world, ChunkKey key) {
+        TimingWheel.Timeout timeout = tickets.remove(key);
+        if (timeout != null) {
+            timeout.cancel();
+        } else if (!world.addPluginChunkTicket(key.x(), key.z(), WirelessRedstone.getInstance())) {
+            // The plugin already holds a ticket that isn't tracked here
+            WirelessRedstone.getWRLogger().debug("Chunk " + key.x() + ", " + key.z() + " already has a ticket.");
+        }
+
+        tickets.put(key, WirelessRedstone.getTimingWheel().schedule(() -> {
+            tickets.remove(key);
+            world.removePluginChunkTicket(key.x(), key.z(), WirelessRedstone.getInstance());
+        }, ticketTicks));
+    }
+
+    private record ChunkKey(UUID world, int x, int z) {}
+}
@@ -0,0 +1,146 @@
+package net.licks92.wirelessredstone.scheduler;
+
+import net.licks92.wirelessredstone.WirelessRedstone;
+import net.licks92.wirelessredstone.signs.WirelessChannel;
+import org.bukkit.Bukkit;
+import org.bukkit.OfflinePlayer;
+import org.bukkit.entity.Player;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Converts channel owners that are still stored by player name (from before owners were saved as UUID).<br>
+ * Online players are resolved right away, the other names are looked up in batches in the user cache of the server
+ * on an async thread; nothing ever asks Mojang for a profile. Resolved owners are written back through the storage,
+ * so the migration only has work to do once. Names that aren't cached are resolved when that player joins.
+ */
+public class OwnerMigration {
+
+    private static final int BATCH_SIZE = 64;
+
+    private final Set<String> unresolved = new HashSet<>();
+    private BukkitTask task;
+
+    public void start() {
+        if (task != null) {
+            return;
+        }
+
+        Map<String, UUID> resolved = new HashMap<>();
+        for (WirelessChannel channel : WirelessRedstone.getStorageManager().getChannels()) {
+            for (String owner : channel.getLegacyOwners()) {
+                String name = owner.toLowerCase(Locale.ROOT);
+                if (resolved.containsKey(name) || unresolved.contains(name)) {
+                    continue;
+                }
+
+                Player player = Bukkit.getPlayerExact(owner);
+                if (player != null) {
+                    resolved.put(name, player.getUniqueId());
+                } else {
+                    unresolved.add(name);
+                }
+            }
+        }
+
+        if (resolved.isEmpty() && unresolved.isEmpty()) {
+            return;
+        }
+
+        int total = resolved.size() + unresolved.size();
+        WirelessRedstone.getWRLogger().info("Converting " + total + " channel owners from player names to UUIDs.");
+        apply(resolved);
+
+        List<String> names = new ArrayList<>(unresolved);
+        task = Bukkit.getScheduler().runTaskAsynchronously(WirelessRedstone.getInstance(), () -> {
+            int done = resolved.size();
+            for (int start = 0; start < names.size(); start += BATCH_SIZE) {
+                if (!WirelessRedstone.getInstance().isEnabled()) {
+                    return;
+                }
+
+                Map<String, UUID> batch = new HashMap<>();
+                for (String name : names.subList(start, Math.min(names.size(), start + BATCH_SIZE))) {
+                    OfflinePlayer player = Bukkit.getOfflinePlayerIfCached(name);
+                    if (player != null) {
+                        batch.put(name, player.getUniqueId());
+                    }
+                }
+
+                done += Math.min(BATCH_SIZE, names.size() - start);
+                WirelessRedstone.getWRLogger().info("Looked up " + done + "/" + total + " channel owners.");
+                if (!batch.isEmpty() && WirelessRedstone.getInstance().isEnabled()) {
+                    Bukkit.getScheduler().runTask(WirelessRedstone.getInstance(), () -> apply(batch));
+                }
+            }
+
+            if (WirelessRedstone.getInstance().isEnabled()) {
+                Bukkit.getScheduler().runTask(WirelessRedstone.getInstance(), this::finish);
+            }
+        });
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Resolve the name of a player that was missing from the user cache.
+     *
+     * @param player Player that joined
+     */
+    public void onPlayerJoin(Player player) {
+        if (unresolved.isEmpty()) {
+            return;
+        }
+
+        String name = player.getName().toLowerCase(Locale.ROOT);
+        if (unresolved.contains(name)) {
+            apply(Map.of(name, player.getUniqueId()));
+        }
+    }
+
+    private void finish() {
+        task = null;
+        if (unresolved.isEmpty()) {
+            WirelessRedstone.getWRLogger().info("All channel owners are converted to UUIDs.");
+        } else {
+            WirelessRedstone.getWRLogger().info(unresolved.size() + " channel owners aren't known by the server yet, " +
+                    "they are converted when they join.");
+        }
+    }
+
+    /**
+     * Replace resolved names in every channel and save the channels that changed. Server thread only.
+     */
+    private void apply(Map<String, UUID> resolved) {
+        unresolved.removeAll(resolved.keySet());
+
+        for (WirelessChannel channel : WirelessRedstone.getStorageManager().getChannels()) {
+            boolean changed = false;
+            for (String owner : List.copyOf(channel.getLegacyOwners())) {
+                UUID uuid = resolved.get(owner.toLowerCase(Locale.ROOT));
+                if (uuid != null) {
+                    channel.removeOwner(owner);
+                    channel.addOwner(uuid);
+                    changed = true;
+                }
+            }
+
+            if (changed) {
+                WirelessRedstone.getStorage().updateChannel(channel.getName(), channel);
+            }
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package net.licks92.wirelessredstone.scheduler;
+
+/**
+ * How receivers and screens in unloaded chunks are updated.
+ */
+public enum ReceiverUpdateMode {
+    /**
+     * Load the chunk on the server thread before every update, like older versions did.
+     */
+    SYNC,
+    /**
+     * Load the chunk asynchronously and hold it with a short-lived plugin chunk ticket.
+     * Updates are queued until the chunk is ready.
+     */
+    TICKET,
+    /**
+     * Don't load the chunk at all. Only the latest state of every receiver is remembered
+     * and written when the chunk is loaded by the server.
+     */
+    DEFERRED
+}
@@ -0,0 +1,91 @@
+package net.licks92.wirelessredstone.scheduler;
+
+import net.licks92.wirelessredstone.WirelessRedstone;
+import net.licks92.wirelessredstone.signs.WirelessChannel;
+import net.licks92.wirelessredstone.signs.WirelessPoint;
+import net.licks92.wirelessredstone.signs.WirelessSignTag;
+import net.licks92.wirelessredstone.storage.StorageManager;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.Tag;
+import org.bukkit.World;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Sign;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Tags the registered signs that were placed before signs got a {@link WirelessSignTag}.<br>
+ * Chunks with registered signs are queued when they load and a few of them are handled every tick,
+ * so the migration never shows up as a lag spike.
+ */
+public class SignTagMigration {
+
+    private static final int CHUNKS_PER_TICK = 4;
+
+    private final Deque<Chunk> pending = new ArrayDeque<>();
+    private BukkitTask task;
+
+    public void start() {
+        if (task != null) {
+            return;
+        }
+
+        for (World world : Bukkit.getWorlds()) {
+            for (Chunk chunk : world.getLoadedChunks()) {
+                queue(chunk);
+            }
+        }
+
+        task = Bukkit.getScheduler().runTaskTimer(WirelessRedstone.getInstance(), this::tick, 1L, 1L);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+
+        pending.clear();
+    }
+
+    /**
+     * Queue a chunk if it contains registered signs.
+     *
+     * @param chunk Loaded chunk
+     */
+    public void queue(Chunk chunk) {
+        if (WirelessRedstone.getStorageManager().hasSignsInChunk(chunk.getWorld().getName(), chunk.getX(), chunk.getZ())) {
+            pending.add(chunk);
+        }
+    }
+
+    private void tick() {
+        for (int i = 0; i < CHUNKS_PER_TICK && !pending.isEmpty(); i++) {
+            Chunk chunk = pending.poll();
+            if (chunk.isLoaded()) {
+                migrate(chunk);
+            }
+        }
+    }
+
+    private void migrate(Chunk chunk) {
+        StorageManager storageManager = WirelessRedstone.getStorageManager();
+
+        for (BlockState state : chunk.getTileEntities(block -> Tag.ALL_SIGNS.isTagged(block.getType()), false)) {
+            if (!(state instanceof Sign sign) || WirelessSignTag.isTagged(sign)) {
+                continue;
+            }
+
+            WirelessPoint point = storageManager.getWirelessPoint(sign.getLocation());
+            WirelessChannel channel = storageManager.getChannel(sign.getLocation());
+            if (point == null || channel == null) {
+                continue;
+            }
+
+            WirelessSignTag.write(sign, channel.getName(), point);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package net.licks92.wirelessredstone.scheduler;
+
+import net.licks92.wirelessredstone.WirelessRedstone;
+import net.licks92.wirelessredstone.engine.SchedulerAdapter;
+import org.bukkit.Bukkit;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed timing wheel driven by one repeating Bukkit task.<br>
+ * Holds the deadlines of all clocks and delayers so they don't each occupy a slot in the Bukkit scheduler.
+ * Scheduling and cancelling are O(1); every tick only the bucket of the current tick is visited.
+ * Without {@link #start()} the wheel only moves when {@link #advance()} is called, which makes simulations deterministic.
+ */
+public class TimingWheel implements SchedulerAdapter {
+
+    private static final int WHEEL_SIZE = 512; // Needs to be a power of two
+
+    private final Bucket[] buckets = new Bucket[WHEEL_SIZE];
+    private final List<Timeout> due = new ArrayList<>();
+    private long currentTick = 0;
+    private int size = 0;
+    private BukkitTask task;
+
+    public TimingWheel() {
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            buckets[i] = new Bucket();
+        }
+    }
+
+    public void start() {
+        if (task != null) {
+            return;
+        }
+
+        task = Bukkit.getScheduler().runTaskTimer(WirelessRedstone.getInstance(), this::advance, 1L, 1L);
+    }
+
+    public void stop() {
+        if (task != null) {
+            task.cancel();
+            task = null;
+        }
+    }
+
+    /**
+     * Run a task once after a delay.
+     *
+     * @param runnable   Task
+     * @param delayTicks Delay in ticks; at least 1
+     * @return Timeout that can be cancelled
+     */
+    @Override
+    public Timeout schedule(Runnable runnable, long delayTicks) {
+        Timeout timeout = new Timeout(runnable, 0);
+        insert(timeout, currentTick + Math.max(1, delayTicks));
+        return timeout;
+    }
+
+    /**
+     * Run a task every period.<br>
+     * The first run is aligned to a multiple of the period, so all tasks with the same period fire from the same bucket.
+     *
+     * @param runnable    Task
+     * @param periodTicks Period in ticks; at least 1
+     * @return Timeout that can be cancelled
+     */
+    @Override
+    public Timeout scheduleRepeating(Runnable runnable, long periodTicks) {
+        long period = Math.max(1, periodTicks);
+        Timeout timeout = new Timeout(runnable, period);
+        insert(timeout, (currentTick / period + 1) * period);
+        return timeout;
+    }
+
+    /**
+     * @return Amount of scheduled timeouts
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Move the wheel one tick forward and run everything that is due.
+     */
+    public void advance() {
+        currentTick++;
+
+        Bucket bucket = buckets[(int) (currentTick & (WHEEL_SIZE - 1))];
+        Timeout timeout = bucket.head;
+        while (timeout != null) {
+            Timeout next = timeout.next;
+            if (timeout.deadline <= currentTick) {
+                bucket.unlink(timeout);
+                size--;
+                due.add(timeout);
+            }
+            timeout = next;
+        }
+
+        if (due.isEmpty()) {
+            return;
+        }
+
+        try {
+            for (Timeout dueTimeout : due) {
+                // Cancelled by another task in this bucket
+                if (dueTimeout.cancelled) {
+                    continue;
+                }
+
+                try {
+                    dueTimeout.runnable.run();
+                } catch (RuntimeException ex) {
+                    WirelessRedstone.getWRLogger().warning("Scheduled task threw an exception: " + ex.getMessage());
+                    ex.printStackTrace();
+                }
+
+                if (dueTimeout.period > 0 && !dueTimeout.cancelled) {
+                    insert(dueTimeout, dueTimeout.deadline + dueTimeout.period);
+                }
+            }
+        } finally {
+            due.clear();
+        }
+    }
+
+    private void insert(Timeout timeout, long deadline) {
+        timeout.deadline = deadline;
+        buckets[(int) (deadline & (WHEEL_SIZE - 1))].link(timeout);
+        size++;
+    }
+
+    public final class Timeout implements SchedulerAdapter.Task {
+        private final Runnable runnable;
+        private final long period;
+        private long deadline;
+        private boolean cancelled = false;
+
+        private Bucket bucket;
+        private Timeout previous;
+        private Timeout next;
+
+        private Timeout(Runnable runnable, long period) {
+            this.runnable = runnable;
+            this.period = period;
+        }
+
+        /**
+         * Cancel this timeout. This is O(1) and safe to call multiple times.
+         */
+        @Override
+        public void cancel() {
+            if (cancelled) {
+                return;
+            }
+
+            cancelled = true;
+            if (bucket != null) {
+                bucket.unlink(this);
+                size--;
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private static final class Bucket {
+        private Timeout head;
+
+        private void link(Timeout timeout) {
+            timeout.bucket = this;
+            timeout.previous = null;
+            timeout.next = head;
+            if (head != null) {
+                head.previous = timeout;
+            }
+            head = timeout;
+        }
+
+        private void unlink(Timeout timeout) {
+            if (timeout.previous != null) {
+                timeout.previous.next = timeout.next;
+            } else {
+                head = timeout.next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            }
+
+            timeout.bucket = null;
+            timeout.previous = null;
+            timeout.next = null;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package net.licks92.wirelessredstone.signs;
+
+/**
+ * How the transmitters of a channel are combined into the state of the channel.
+ */
+public enum GateLogic {
+    /**
+     * Every transmitter update switches the channel, regardless of the other transmitters (logic from version <2.0).
+     */
+    IGNORE,
+    /**
+     * On while at least one transmitter is powered.
+     */
+    OR,
+    /**
+     * On while all transmitters are powered.
+     */
+    AND,
+    /**
+     * On while an odd amount of transmitters is powered.
+     */
+    XOR,
+    /**
+     * On while at least the configured amount of transmitters is powered.
+     */
+    THRESHOLD;
+
+    /**
+     * @param powered      Amount of powered transmitters
+     * @param transmitters Amount of transmitters on the channel
+     * @param threshold    Required amount of powered transmitters for {@link #THRESHOLD}
+     * @return Boolean; The channel should be on
+     */
+    public boolean isOn(int powered, int transmitters, int threshold) {
+        switch (this) {
+            case AND:
+                return transmitters > 0 && powered >= transmitters;
+            case XOR:
+                return (powered & 1) == 1;
+            case THRESHOLD:
+                return powered >= Math.max(1, threshold);
+            case IGNORE:
+            case OR:
+            default:
+                return powered > 0;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package net.licks92.wirelessredstone.signs;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * List of the WirelessPoints of one type in a channel.<br>
+ * The points sit in an array for propagation and are indexed by world and packed position, so contains, add and
+ * remove are O(1). A block holds at most one point; owner and sign type don't matter for membership. Removing moves
+ * the last point into the gap, so the order isn't stable; nothing depends on the order of the points of a channel.
+ */
+final class PointList<T extends WirelessPoint> extends AbstractList<T> implements RandomAccess {
+
+    private final ArrayList<T> points;
+    private final Map<Position, Integer> index;
+
+    PointList() {
+        points = new ArrayList<>();
+        index = new HashMap<>();
+    }
+
+    PointList(Collection<? extends T> source) {
+        points = new ArrayList<>(source.size());
+        index = new HashMap<>(Math.max(16, (int) (source.size() / 0.75f) + 1));
+        for (T point : source) {
+            add(point);
+        }
+    }
+
+    @Override
+    public T get(int i) {
+        return points.get(i);
+    }
+
+    @Override
+    public int size() {
+        return points.size();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof WirelessPoint point && index.containsKey(Position.of(point));
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        if (!(o instanceof WirelessPoint point)) {
+            return -1;
+        }
+
+        Integer i = index.get(Position.of(point));
+        return i == null ? -1 : i;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        return indexOf(o);
+    }
+
+    @Override
+    public boolean add(T point) {
+        if (index.putIfAbsent(Position.of(point), points.size()) != null) {
+            return false;
+        }
+
+        points.add(point);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        int i = indexOf(o);
+        if (i < 0) {
+            return false;
+        }
+
+        remove(i);
+        return true;
+    }
+
+    /**
+     * Remove by swapping the last point into the slot. Iterators keep working, the swapped point is visited next.
+     */
+    @Override
+    public T remove(int i) {
+        T removed = points.get(i);
+        T last = points.remove(points.size() - 1);
+        if (i < points.size()) {
+            points.set(i, last);
+            index.put(Position.of(last), i);
+        }
+
+        index.remove(Position.of(removed));
+        modCount++;
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        points.clear();
+        index.clear();
+        modCount++;
+    }
+
+    private record Position(String world, long packed) {
+
+        static Position of(WirelessPoint point) {
+            return new Position(point.getWorld(), point.getPackedPosition());
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package net.licks92.wirelessredstone.signs;
+
+import org.bukkit.Material;
+import org.bukkit.block.Block;
+import org.bukkit.block.BlockState;
+import org.bukkit.block.Sign;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads the signs of one event.<br>
+ * Blocks that can't be a sign are rejected by their type before a BlockState is created. On Paper the sign is
+ * read from the tile entity without copying it ({@code getState(false)}), on other servers it falls back to a
+ * snapshot. Every block is only looked up once per reader, so create one reader per event and don't keep it:
+ * a non-snapshot sign shows the live tile entity and is only meant to be read while handling the event.
+ * Write through {@link Block#getState()} instead.
+ */
+public final class SignReader {
+
+    private static final Set<Material> SIGN_MATERIALS = createSignMaterials();
+    private static Boolean snapshotFree;
+
+    private Map<Block, Sign> signs;
+
+    /**
+     * @param block Block
+     * @return Sign or null if the block isn't a sign
+     */
+    public Sign getSign(Block block) {
+        if (block == null || !SIGN_MATERIALS.contains(block.getType())) {
+            return null;
+        }
+
+        if (signs == null) {
+            signs = new HashMap<>();
+        } else if (signs.containsKey(block)) {
+            return signs.get(block);
+        }
+
+        BlockState state = readState(block);
+        Sign sign = state instanceof Sign ? (Sign) state : null;
+        signs.put(block, sign);
+        return sign;
+    }
+
+    public boolean isSign(Block block) {
+        return getSign(block) != null;
+    }
+
+    private static BlockState readState(Block block) {
+        if (snapshotFree == null) {
+            try {
+                Block.class.getMethod("getState", boolean.class);
+                snapshotFree = true;
+            } catch (NoSuchMethodException ex) {
+                snapshotFree = false;
+            }
+        }
+
+        return snapshotFree ? block.getState(false) : block.getState();
+    }
+
+    private static Set<Material> createSignMaterials() {
+        Set<Material> materials = EnumSet.noneOf(Material.class);
+        for (Material material : Material.values()) {
+            String name = material.name().toUpperCase(Locale.ROOT);
+            if (name.startsWith("LEGACY_")) {
+                continue;
+            }
+
+            // SIGN_POST and WALL_SIGN on 1.8, OAK_SIGN, OAK_WALL_SIGN, OAK_HANGING_SIGN... on newer versions
+            if (name.equals("SIGN") || name.equals("SIGN_POST") || name.endsWith("_SIGN")) {
+                materials.add(material);
+            }
+        }
+
+        return materials;
+    }
+}
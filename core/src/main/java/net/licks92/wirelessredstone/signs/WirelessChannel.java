@@ -1,19 +1,21 @@
 package net.licks92.wirelessredstone.signs;
 
-import net.licks92.wirelessredstone.ConfigManager;
-import net.licks92.wirelessredstone.Utils;
 import net.licks92.wirelessredstone.WirelessRedstone;
-import org.bukkit.Bukkit;
+import net.licks92.wirelessredstone.engine.WorldAdapter;
 import org.bukkit.Location;
 import org.bukkit.configuration.serialization.ConfigurationSerializable;
 import org.bukkit.configuration.serialization.SerializableAs;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
 
 @SerializableAs("WirelessChannel")
 public class WirelessChannel implements ConfigurationSerializable {
@@ -23,10 +25,12 @@ public class WirelessChannel implements ConfigurationSerializable {
     private boolean active;
     private boolean locked;
 
-    private List<String> owners = new ArrayList<>();
-    private List<WirelessTransmitter> transmitters = new ArrayList<>();
-    private List<WirelessReceiver> receivers = new ArrayList<>();
-    private List<WirelessScreen> screens = new ArrayList<>();
+    private final Set<UUID> owners = new LinkedHashSet<>();
+    private final List<String> legacyOwners = new ArrayList<>();
+    private PointList<WirelessTransmitter> transmitters = new PointList<>();
+    private PointList<WirelessReceiver> receivers = new PointList<>();
+    private PointList<WirelessScreen> screens = new PointList<>();
+    private Set<WirelessTransmitter> poweredTransmitters;
 
     public WirelessChannel(String name) {
         this.name = name;
@@ -42,14 +46,14 @@ public class WirelessChannel implements ConfigurationSerializable {
 
     public WirelessChannel(String name, List<String> owners) {
         this.name = name;
-        this.owners = owners;
+        this.setOwners(owners);
         this.active = false;
         this.locked = false;
     }
 
     public WirelessChannel(String name, List<String> owners, boolean locked) {
         this.name = name;
-        this.owners = owners;
+        this.setOwners(owners);
         this.active = false;
         this.locked = locked;
     }
@@ -67,8 +71,6 @@ public class WirelessChannel implements ConfigurationSerializable {
         } catch (NullPointerException ignored) {
             this.setLocked(false);
         }
-
-        convertOwnersToUuid();
     }
 
     public void turnOn() {
@@ -86,26 +88,7 @@ public class WirelessChannel implements ConfigurationSerializable {
             return;
         }
 
-        if (time > 0 && time < 50) {
-            throw new IllegalArgumentException("Time must be at least 50ms.");
-        }
-
-        if (active) {
-            return;
-        }
-
-        active = true;
-
-        getReceivers().forEach(receiver -> receiver.turnOn(name));
-        getScreens().forEach(WirelessScreen::turnOn);
-
-        WirelessRedstone.getStorage().updateSwitchState(this);
-
-        if (time >= 50) {
-            Bukkit.getScheduler().runTaskLater(WirelessRedstone.getInstance(),
-                    () -> turnOff(null, true),
-                    time / 50);
-        }
+        WirelessRedstone.getSignalEngine().turnOn(this, time);
     }
 
     public void turnOff(Location loc) {
@@ -118,56 +101,31 @@ public class WirelessChannel implements ConfigurationSerializable {
             return;
         }
 
-        if (!active) {
-            return;
+        Predicate<WirelessTransmitter> skip = null;
+        if (loc != null && loc.getWorld() != null) {
+            String worldName = loc.getWorld().getName();
+            int x = loc.getBlockX();
+            int y = loc.getBlockY();
+            int z = loc.getBlockZ();
+            skip = transmitter -> transmitter.getX() == x && transmitter.getY() == y && transmitter.getZ() == z
+                    && worldName.equalsIgnoreCase(transmitter.getWorld());
         }
 
-        boolean canTurnOff = true;
-        if (ConfigManager.getConfig().useORLogic() && !force) {
-            for (WirelessTransmitter transmitter : getTransmitters()) {
-                if (loc != null) {
-                    if (Utils.sameLocation(loc, transmitter.getLocation())) {
-                        continue;
-                    }
-                }
-
-                if (transmitter.isPowered()) {
-                    canTurnOff = false;
-                    break;
-                }
-            }
-        }
+        WirelessRedstone.getSignalEngine().turnOff(this, skip, force);
 
         WirelessRedstone.getWRLogger().debug("Channel#turnOff() WirelessChannel{" +
                 "name='" + name + '\'' +
                 ", active=" + active +
-                ", canTurnOff=" + canTurnOff +
                 "}");
-
-        if (!canTurnOff) {
-            active = true;
-            return;
-        }
-
-        active = false;
-
-        getReceivers().forEach(receiver -> receiver.turnOff(name));
-        getScreens().forEach(WirelessScreen::turnOff);
     }
 
     public void addWirelessPoint(WirelessPoint wirelessPoint) {
         if (wirelessPoint instanceof WirelessTransmitter) {
-            if (!transmitters.contains(wirelessPoint)) {
-                transmitters.add((WirelessTransmitter) wirelessPoint);
-            }
+            transmitters.add((WirelessTransmitter) wirelessPoint);
         } else if (wirelessPoint instanceof WirelessScreen) {
-            if (!screens.contains(wirelessPoint)) {
-                screens.add((WirelessScreen) wirelessPoint);
-            }
+            screens.add((WirelessScreen) wirelessPoint);
         } else if (wirelessPoint instanceof WirelessReceiver) {
-            if (!receivers.contains(wirelessPoint)) {
-                receivers.add((WirelessReceiver) wirelessPoint);
-            }
+            receivers.add((WirelessReceiver) wirelessPoint);
         }
 
         //TODO: Maybe add owner from wirelesspoint to list of owners
@@ -176,6 +134,9 @@ public class WirelessChannel implements ConfigurationSerializable {
     public void removeWirelessPoint(WirelessPoint wirelessPoint) {
         if (wirelessPoint instanceof WirelessTransmitter) {
             transmitters.remove(wirelessPoint);
+            if (poweredTransmitters != null) {
+                poweredTransmitters.remove(wirelessPoint);
+            }
         } else if (wirelessPoint instanceof WirelessScreen) {
             screens.remove(wirelessPoint);
         } else if (wirelessPoint instanceof WirelessReceiver) {
@@ -185,30 +146,108 @@ public class WirelessChannel implements ConfigurationSerializable {
         //TODO: Maybe remove owner from wirelesspoint to list of owners
     }
 
-    public void addOwner(String uuid) {
-        if (!owners.contains(uuid))
+    /**
+     * Record the power state of a transmitter, reported by the redstone events around it.
+     *
+     * @param transmitter Transmitter of this channel
+     * @param powered     New power state
+     */
+    public void setTransmitterPowered(WirelessTransmitter transmitter, boolean powered) {
+        WirelessRedstone.getSignalEngine().setTransmitterPowered(this, transmitter, powered);
+    }
+
+    public int getPoweredTransmitterCount() {
+        return WirelessRedstone.getSignalEngine().getPoweredTransmitterCount(this, null);
+    }
+
+    /**
+     * @return Boolean; The gate logic wants this channel to be on
+     */
+    public boolean isGateOn() {
+        return WirelessRedstone.getSignalEngine().isGateOn(this);
+    }
+
+    /**
+     * The powered transmitters are tracked from redstone events. The first time they are needed,
+     * the transmitters in loaded chunks are checked once; unloaded chunks are never touched.
+     * Transmitters are checked again the tick after their chunk loads, see
+     * {@link net.licks92.wirelessredstone.listeners.WorldListener}.
+     *
+     * @param world World the transmitters are checked in
+     * @return Live set of powered transmitters
+     */
+    public Set<WirelessTransmitter> getPoweredTransmitters(WorldAdapter world) {
+        if (poweredTransmitters == null) {
+            poweredTransmitters = new HashSet<>();
+            for (WirelessTransmitter transmitter : transmitters) {
+                if (world.canReadPower(transmitter) && world.isPowered(transmitter)) {
+                    poweredTransmitters.add(transmitter);
+                }
+            }
+        }
+
+        return poweredTransmitters;
+    }
+
+    /**
+     * Add an owner. Strings that aren't a UUID are kept as legacy player names until the
+     * {@link net.licks92.wirelessredstone.scheduler.OwnerMigration} resolves them.
+     *
+     * @param owner UUID string or legacy player name
+     */
+    public void addOwner(String owner) {
+        UUID uuid = parseOwner(owner);
+        if (uuid != null) {
             owners.add(uuid);
+        } else if (!legacyOwners.contains(owner)) {
+            legacyOwners.add(owner);
+        }
     }
 
-    public void removeOwner(String uuid) {
-        owners.remove(uuid);
+    public void addOwner(UUID uuid) {
+        owners.add(uuid);
     }
 
-    public void convertOwnersToUuid() {
-        Iterator<String> ownersIterator = owners.iterator();
-        while (ownersIterator.hasNext()) {
-            String owner = ownersIterator.next();
-            if (!owner.contains("-")) {
-                if (Bukkit.getPlayer(owner) == null) {
-                    if (Bukkit.getOfflinePlayer(owner).hasPlayedBefore()) {
-                        owners.add(Bukkit.getOfflinePlayer(owner).getUniqueId().toString());
-                        owners.remove(owner);
-                    }
-                } else {
-                    owners.add(Objects.requireNonNull(Bukkit.getPlayer(owner)).getUniqueId().toString());
-                    owners.remove(owner);
-                }
-            }
+    public void removeOwner(String owner) {
+        UUID uuid = parseOwner(owner);
+        if (uuid != null) {
+            owners.remove(uuid);
+        } else {
+            legacyOwners.remove(owner);
+        }
+    }
+
+    /**
+     * @param uuid UUID of a player
+     * @return Boolean; The player is an owner of this channel
+     */
+    public boolean isOwner(UUID uuid) {
+        return owners.contains(uuid);
+    }
+
+    /**
+     * @return Read-only view of the owners with a UUID
+     */
+    public Set<UUID> getOwnerIds() {
+        return Collections.unmodifiableSet(owners);
+    }
+
+    /**
+     * @return Read-only view of the owners that are still stored by player name
+     */
+    public List<String> getLegacyOwners() {
+        return Collections.unmodifiableList(legacyOwners);
+    }
+
+    private static UUID parseOwner(String owner) {
+        if (owner == null || owner.length() != 36) {
+            return null;
+        }
+
+        try {
+            return UUID.fromString(owner);
+        } catch (IllegalArgumentException ex) {
+            return null;
         }
     }
 
@@ -236,12 +275,22 @@ public class WirelessChannel implements ConfigurationSerializable {
         this.locked = locked;
     }
 
+    /**
+     * @return Copy of all owners as strings; UUIDs first, then legacy player names
+     */
     public List<String> getOwners() {
-        return owners;
+        List<String> result = new ArrayList<>(owners.size() + legacyOwners.size());
+        owners.forEach(uuid -> result.add(uuid.toString()));
+        result.addAll(legacyOwners);
+        return result;
     }
 
     public void setOwners(List<String> owners) {
-        this.owners = owners;
+        this.owners.clear();
+        this.legacyOwners.clear();
+        if (owners != null) {
+            owners.forEach(this::addOwner);
+        }
     }
 
     public List<WirelessTransmitter> getTransmitters() {
@@ -249,7 +298,8 @@ public class WirelessChannel implements ConfigurationSerializable {
     }
 
     public void setTransmitters(List<WirelessTransmitter> transmitters) {
-        this.transmitters = transmitters;
+        this.transmitters = transmitters == null ? new PointList<>() : new PointList<>(transmitters);
+        this.poweredTransmitters = null;
     }
 
     public List<WirelessReceiver> getReceivers() {
@@ -257,7 +307,7 @@ public class WirelessChannel implements ConfigurationSerializable {
     }
 
     public void setReceivers(List<WirelessReceiver> receivers) {
-        this.receivers = receivers;
+        this.receivers = receivers == null ? new PointList<>() : new PointList<>(receivers);
     }
 
     public List<WirelessScreen> getScreens() {
@@ -265,13 +315,17 @@ public class WirelessChannel implements ConfigurationSerializable {
     }
 
     public void setScreens(List<WirelessScreen> screens) {
-        this.screens = screens;
+        this.screens = screens == null ? new PointList<>() : new PointList<>(screens);
     }
 
     public boolean isActive() {
         return active;
     }
 
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
     public List<WirelessPoint> getSigns() {
         List<WirelessPoint> signs = new ArrayList<>();
         signs.addAll(getTransmitters());
@@ -281,7 +335,7 @@ public class WirelessChannel implements ConfigurationSerializable {
     }
 
     public boolean isEmpty() {
-        return getSigns().isEmpty();
+        return transmitters.isEmpty() && receivers.isEmpty() && screens.isEmpty();
     }
 
     @Override
@@ -291,9 +345,9 @@ public class WirelessChannel implements ConfigurationSerializable {
         map.put("name", getName());
         map.put("active", isActive());
         map.put("owners", getOwners());
-        map.put("receivers", getReceivers());
-        map.put("transmitters", getTransmitters());
-        map.put("screens", getScreens());
+        map.put("receivers", new ArrayList<>(getReceivers()));
+        map.put("transmitters", new ArrayList<>(getTransmitters()));
+        map.put("screens", new ArrayList<>(getScreens()));
         map.put("locked", isLocked());
         return map;
     }
@@ -305,7 +359,7 @@ public class WirelessChannel implements ConfigurationSerializable {
                 ", name='" + name + '\'' +
                 ", active=" + active +
                 ", locked=" + locked +
-                ", owners=" + owners +
+                ", owners=" + getOwners() +
                 ", transmitters=" + transmitters +
                 ", receivers=" + receivers +
                 ", screens=" + screens +
@@ -1,18 +1,35 @@
 package net.licks92.wirelessredstone.signs;
 
+import net.licks92.wirelessredstone.storage.WirelessPointIndex;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 
+import java.lang.ref.WeakReference;
 import java.util.Objects;
 
 public abstract class WirelessPoint {
 
+    /* Bumped whenever a world is loaded or unloaded; cached world references of an older epoch are looked up again. */
+    private static volatile int worldEpoch = 0;
+
     int x, y, z;
     String owner, world;
     BlockFace direction;
     boolean isWallSign = false;
 
+    private WeakReference<World> worldReference;
+    private int worldReferenceEpoch = -1;
+
+    /**
+     * Invalidate the cached world of every WirelessPoint. Call this when a world is loaded or unloaded.
+     */
+    public static void invalidateWorlds() {
+        worldEpoch++;
+    }
+
     public int getX() {
         return x;
     }
@@ -30,7 +47,48 @@ public abstract class WirelessPoint {
     }
 
     public Location getLocation() {
-        return new Location(Bukkit.getWorld(world), x, y, z);
+        return new Location(getBukkitWorld(), x, y, z);
+    }
+
+    /**
+     * The world is looked up once and kept as a weak reference until {@link #invalidateWorlds()} is called.
+     *
+     * @return World or null if the world isn't loaded
+     */
+    public World getBukkitWorld() {
+        WeakReference<World> reference = worldReference;
+        if (reference != null && worldReferenceEpoch == worldEpoch) {
+            return reference.get();
+        }
+
+        int epoch = worldEpoch;
+        World bukkitWorld = world == null ? null : Bukkit.getWorld(world);
+        worldReference = new WeakReference<>(bukkitWorld);
+        worldReferenceEpoch = epoch;
+        return bukkitWorld;
+    }
+
+    /**
+     * @return Block of this sign or null if the world isn't loaded
+     */
+    public Block getBlock() {
+        World bukkitWorld = getBukkitWorld();
+        return bukkitWorld == null ? null : bukkitWorld.getBlockAt(x, y, z);
+    }
+
+    /**
+     * @return Position packed with {@link WirelessPointIndex#pack(int, int, int)}
+     */
+    public long getPackedPosition() {
+        return WirelessPointIndex.pack(x, y, z);
+    }
+
+    public int getChunkX() {
+        return x >> 4;
+    }
+
+    public int getChunkZ() {
+        return z >> 4;
     }
 
     public String getOwner() {
@@ -59,6 +117,7 @@ public abstract class WirelessPoint {
 
     public void setWorld(String world) {
         this.world = world;
+        this.worldReference = null;
     }
 
     public void setOwner(String owner) {
@@ -99,4 +158,12 @@ public abstract class WirelessPoint {
         if (!Objects.equals(owner, that.owner)) return false;
         return Objects.equals(world, that.world);
     }
+
+    /**
+     * Hashes the world and the packed position only; points at the same position rarely differ in anything else.
+     */
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hashCode(world) + Long.hashCode(getPackedPosition());
+    }
 }
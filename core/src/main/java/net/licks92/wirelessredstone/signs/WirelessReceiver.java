@@ -3,22 +3,28 @@ package net.licks92.wirelessredstone.signs;
 import net.licks92.wirelessredstone.Utils;
 import net.licks92.wirelessredstone.WirelessRedstone;
 import net.licks92.wirelessredstone.compat.InternalProvider;
+import net.licks92.wirelessredstone.compat.ReceiverBlockStates;
+import net.licks92.wirelessredstone.engine.SignalEngine;
 import net.licks92.wirelessredstone.materiallib.data.CrossMaterial;
-import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
+import org.bukkit.block.BlockState;
 import org.bukkit.block.Sign;
 import org.bukkit.configuration.serialization.ConfigurationSerializable;
 import org.bukkit.configuration.serialization.SerializableAs;
 
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
 @SerializableAs("WirelessReceiver")
 public class WirelessReceiver extends WirelessPoint implements ConfigurationSerializable {
 
+    private ReceiverBlockStates blockStates;
+    private BlockFace blockStatesFace;
+    private String[] signLines;
+    private String signLinesChannel;
+
     public WirelessReceiver(int x, int y, int z, String world, boolean isWallSign, BlockFace direction, String owner) {
         this.x = x;
         this.y = y;
@@ -49,32 +55,56 @@ public class WirelessReceiver extends WirelessPoint implements ConfigurationSeri
     }
 
     public void turnOn(String channelName) {
-        changeState(true, channelName);
+        turnOn(WirelessRedstone.getSignalEngine(), channelName);
     }
 
     public void turnOff(String channelName) {
-        changeState(false, channelName);
+        turnOff(WirelessRedstone.getSignalEngine(), channelName);
     }
 
-    protected void changeState(boolean newState, String channelName) {
-        if (getLocation() == null) {
-            return;
-        }
+    /**
+     * The channel of this receiver turned on. Subclasses decide what that means for their own state.
+     *
+     * @param engine      Engine propagating the channel
+     * @param channelName Channel name
+     */
+    public void turnOn(SignalEngine engine, String channelName) {
+        changeState(engine, true, channelName);
+    }
+
+    /**
+     * The channel of this receiver turned off.
+     *
+     * @param engine      Engine propagating the channel
+     * @param channelName Channel name
+     */
+    public void turnOff(SignalEngine engine, String channelName) {
+        changeState(engine, false, channelName);
+    }
+
+    protected void changeState(SignalEngine engine, boolean newState, String channelName) {
+        engine.getWorld().setReceiverState(this, channelName, newState);
+    }
 
-        if (getLocation().getWorld() == null) {
+    /**
+     * Write the state to the block right away. Only call this on the server thread with the chunk loaded;
+     * everything else should go through {@link net.licks92.wirelessredstone.engine.WorldAdapter#setReceiverState}.
+     *
+     * @param newState    Boolean; Torch (true) or sign (false)
+     * @param channelName Channel name written on the sign
+     */
+    public void applyState(boolean newState, String channelName) {
+        Block block = getBlock();
+        if (block == null) {
             return;
         }
 
-        getLocation().getWorld().loadChunk(getLocation().getChunk());
-        Block block = getLocation().getBlock();
-
+        BlockFace blockFace;
         if (isWallSign()) {
-            BlockFace blockFace = null;
-
             if (block.getRelative(direction.getOppositeFace()).getType() != Material.AIR) {
                 blockFace = direction;
-            } else if (getAvailableWallFace(getLocation()) != null) {
-                blockFace = getAvailableWallFace(getLocation());
+            } else {
+                blockFace = getAvailableWallFace(block);
             }
 
             if (blockFace == null) {
@@ -93,7 +123,46 @@ public class WirelessReceiver extends WirelessPoint implements ConfigurationSeri
 //            WirelessRedstone.getWRLogger().debug("Is solid " + (block.getRelative(direction.getOppositeFace()).getType() != Material.AIR));
 //            WirelessRedstone.getWRLogger().debug("Location " + block.getRelative(direction.getOppositeFace()).getLocation());
 //            WirelessRedstone.getWRLogger().debug("Face " + direction + " Available face " + availableBlockFace);
+        } else {
+            blockFace = direction;
+            if (!newState && (direction == BlockFace.UP || direction == BlockFace.DOWN)) {
+                WirelessRedstone.getWRLogger().warning("Receiver " + toString() + " has an invalid BlockFace! " +
+                        "The BlockFace values=[up, down] are invalid, using default BlockFace");
+            }
+        }
+
+        ReceiverBlockStates states = getBlockStates(blockFace);
+        if (states == null) {
+            applyLegacyState(block, blockFace, newState, channelName);
+            return;
+        }
+
+        states.apply(block, newState);
+        if (!newState) {
+            changeSignContent(block, channelName);
+        }
+    }
+
+    /**
+     * Torch and sign states of this receiver for a facing. They are prepared once and only again when the
+     * receiver has to hang on another wall.
+     */
+    private ReceiverBlockStates getBlockStates(BlockFace blockFace) {
+        if (blockStates == null || blockStatesFace != blockFace) {
+            // Wall receivers only applied physics when they faced north, keep that behaviour
+            blockStates = InternalProvider.getCompatBlockData().createReceiverStates(isWallSign(), blockFace,
+                    !isWallSign() || direction == BlockFace.NORTH);
+            blockStatesFace = blockFace;
+        }
+
+        return blockStates;
+    }
 
+    /**
+     * Write the state through the block type and data values; used on servers without BlockData.
+     */
+    private void applyLegacyState(Block block, BlockFace blockFace, boolean newState, String channelName) {
+        if (isWallSign()) {
             if (newState) {
                 InternalProvider.getCompatBlockData().setRedstoneWallTorch(block, blockFace, direction);
             } else {
@@ -112,10 +181,7 @@ public class WirelessReceiver extends WirelessPoint implements ConfigurationSeri
                     return;
                 }
 
-                if (Arrays.asList(BlockFace.UP, BlockFace.DOWN).contains(direction)) {
-                    WirelessRedstone.getWRLogger().warning("Receiver " + toString() + " has an invalid BlockFace! " +
-                            "The BlockFace values=[up, down] are invalid, using default BlockFace");
-                } else {
+                if (direction != BlockFace.UP && direction != BlockFace.DOWN) {
                     InternalProvider.getCompatBlockData().setSignRotation(block, direction);
                 }
 
@@ -124,23 +190,67 @@ public class WirelessReceiver extends WirelessPoint implements ConfigurationSeri
         }
     }
 
+    /**
+     * Restore the text and tag of the sign. Lines are only written when they differ and the tile entity is only
+     * updated when something changed.
+     *
+     * @param block       Sign block of this receiver
+     * @param channelName Channel name
+     */
     public void changeSignContent(Block block, String channelName) {
-        if (!(block.getState() instanceof Sign)) {
+        BlockState state = block.getState();
+        if (!(state instanceof Sign)) {
             WirelessRedstone.getWRLogger().warning("Receiver " + toString() + " is not a Sign but the plugin does expect it to be a Sign. " +
                     "Is the sign at a valid location?");
             return;
         }
 
-        Sign sign = (Sign) block.getState();
-        sign.setLine(0, WirelessRedstone.getStringManager().tagsReceiver.get(0));
-        sign.setLine(1, channelName);
-        sign.setLine(2, WirelessRedstone.getStringManager().tagsReceiverDefaultType.get(0));
-        sign.update();
+        Sign sign = (Sign) state;
+        String[] lines = getSignLines(channelName);
+        boolean changed = false;
+        for (int i = 0; i < lines.length; i++) {
+            if (lines[i] != null && !lines[i].equals(sign.getLine(i))) {
+                sign.setLine(i, lines[i]);
+                changed = true;
+            }
+        }
+
+        if (WirelessSignTag.apply(sign, channelName, this)) {
+            changed = true;
+        }
+
+        if (changed) {
+            sign.update();
+        }
+    }
+
+    private String[] getSignLines(String channelName) {
+        if (signLines == null || !channelName.equals(signLinesChannel)) {
+            signLines = createSignLines(channelName);
+            signLinesChannel = channelName;
+        }
+
+        return signLines;
+    }
+
+    /**
+     * Text of the sign of this receiver.
+     *
+     * @param channelName Channel name
+     * @return Four sign lines; a null line is left as it is
+     */
+    protected String[] createSignLines(String channelName) {
+        return new String[]{
+                WirelessRedstone.getStringManager().tagsReceiver.get(0),
+                channelName,
+                WirelessRedstone.getStringManager().tagsReceiverDefaultType.get(0),
+                null
+        };
     }
 
-    private BlockFace getAvailableWallFace(Location location) {
+    private BlockFace getAvailableWallFace(Block block) {
         for (BlockFace blockFace : Utils.getAxisBlockFaces(false)) {
-            Block relative = location.getBlock().getRelative(blockFace);
+            Block relative = block.getRelative(blockFace);
             if (relative.getType().isSolid()) {
                 return blockFace.getOppositeFace();
             }
@@ -1,12 +1,10 @@
 package net.licks92.wirelessredstone.signs;
 
 import net.licks92.wirelessredstone.WirelessRedstone;
-import org.bukkit.Bukkit;
-import org.bukkit.block.Block;
+import net.licks92.wirelessredstone.engine.SchedulerAdapter;
+import net.licks92.wirelessredstone.engine.SignalEngine;
 import org.bukkit.block.BlockFace;
-import org.bukkit.block.Sign;
 import org.bukkit.configuration.serialization.SerializableAs;
-import org.bukkit.scheduler.BukkitTask;
 
 import java.util.Map;
 
@@ -14,7 +12,7 @@ import java.util.Map;
 public class WirelessReceiverClock extends WirelessReceiver {
 
     private final int delay;
-    private int bukkitTaskId = -1;
+    private SchedulerAdapter.Task clockTimeout;
 
     public WirelessReceiverClock(int x, int y, int z, String world, boolean isWallSign, BlockFace direction, String owner, int delay) {
         super(x, y, z, world, isWallSign, direction, owner);
@@ -27,49 +25,43 @@ public class WirelessReceiverClock extends WirelessReceiver {
     }
 
     @Override
-    public void turnOn(String channelName) {
+    public void turnOn(SignalEngine engine, String channelName) {
         int delayInTicks = delay / 50;
 
         // Make sure there are no concurrent tasks running
-        if (bukkitTaskId >= 0) {
-            Bukkit.getScheduler().cancelTask(bukkitTaskId);
+        if (clockTimeout != null) {
+            clockTimeout.cancel();
         }
 
-        BukkitTask bukkitTask = Bukkit.getScheduler().runTaskTimer(WirelessRedstone.getInstance(), new Runnable() {
-            boolean state = false;
+        changeState(engine, true, channelName);
+        clockTimeout = engine.getScheduler().scheduleRepeating(new Runnable() {
+            boolean state = true;
 
             @Override
             public void run() {
                 state = !state;
-                changeState(state, channelName);
+                changeState(engine, state, channelName);
             }
-        }, 0, delayInTicks);
-
-        bukkitTaskId = bukkitTask.getTaskId();
+        }, delayInTicks);
     }
 
     @Override
-    public void turnOff(String channelName) {
-        if (bukkitTaskId >= 0) {
-            Bukkit.getScheduler().cancelTask(bukkitTaskId);
+    public void turnOff(SignalEngine engine, String channelName) {
+        if (clockTimeout != null) {
+            clockTimeout.cancel();
+            clockTimeout = null;
         }
-        changeState(false, channelName);
+        changeState(engine, false, channelName);
     }
 
     @Override
-    public void changeSignContent(Block block, String channelName) {
-        if (!(block.getState() instanceof Sign)) {
-            WirelessRedstone.getWRLogger().warning("Receiver " + toString() + " is not a Sign but the plugin does expect it to be a Sign. " +
-                    "Is the sign at a valid location?");
-            return;
-        }
-
-        Sign sign = (Sign) block.getState();
-        sign.setLine(0, WirelessRedstone.getStringManager().tagsReceiver.get(0));
-        sign.setLine(1, channelName);
-        sign.setLine(2, WirelessRedstone.getStringManager().tagsReceiverClockType.get(0));
-        sign.setLine(3, Integer.toString(delay));
-        sign.update();
+    protected String[] createSignLines(String channelName) {
+        return new String[]{
+                WirelessRedstone.getStringManager().tagsReceiver.get(0),
+                channelName,
+                WirelessRedstone.getStringManager().tagsReceiverClockType.get(0),
+                Integer.toString(delay)
+        };
     }
 
     public int getDelay() {
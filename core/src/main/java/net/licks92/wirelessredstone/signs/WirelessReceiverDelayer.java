@@ -1,10 +1,8 @@
 package net.licks92.wirelessredstone.signs;
 
 import net.licks92.wirelessredstone.WirelessRedstone;
-import org.bukkit.Bukkit;
-import org.bukkit.block.Block;
+import net.licks92.wirelessredstone.engine.SignalEngine;
 import org.bukkit.block.BlockFace;
-import org.bukkit.block.Sign;
 import org.bukkit.configuration.serialization.SerializableAs;
 
 import java.util.Map;
@@ -25,37 +23,27 @@ public class WirelessReceiverDelayer extends WirelessReceiver {
     }
 
     @Override
-    public void turnOn(String channelName) {
+    public void turnOn(SignalEngine engine, String channelName) {
         int delayInTicks = delay / 50;
 
-        Bukkit.getScheduler().runTaskLater(WirelessRedstone.getInstance(),
-                () -> changeState(true, channelName),
-                delayInTicks);
+        engine.getScheduler().schedule(() -> changeState(engine, true, channelName), delayInTicks);
     }
 
     @Override
-    public void turnOff(String channelName) {
+    public void turnOff(SignalEngine engine, String channelName) {
         int delayInTicks = delay / 50;
 
-        Bukkit.getScheduler().runTaskLater(WirelessRedstone.getInstance(),
-                () -> changeState(false, channelName),
-                delayInTicks);
+        engine.getScheduler().schedule(() -> changeState(engine, false, channelName), delayInTicks);
     }
 
     @Override
-    public void changeSignContent(Block block, String channelName) {
-        if (!(block.getState() instanceof Sign)) {
-            WirelessRedstone.getWRLogger().warning("Receiver " + toString() + " is not a Sign but the plugin does expect it to be a Sign. " +
-                    "Is the sign at a valid location?");
-            return;
-        }
-
-        Sign sign = (Sign) block.getState();
-        sign.setLine(0, WirelessRedstone.getStringManager().tagsReceiver.get(0));
-        sign.setLine(1, channelName);
-        sign.setLine(2, WirelessRedstone.getStringManager().tagsReceiverDelayerType.get(0));
-        sign.setLine(3, Integer.toString(delay));
-        sign.update();
+    protected String[] createSignLines(String channelName) {
+        return new String[]{
+                WirelessRedstone.getStringManager().tagsReceiver.get(0),
+                channelName,
+                WirelessRedstone.getStringManager().tagsReceiverDelayerType.get(0),
+                Integer.toString(delay)
+        };
     }
 
     public int getDelay() {
@@ -1,9 +1,8 @@
 package net.licks92.wirelessredstone.signs;
 
 import net.licks92.wirelessredstone.WirelessRedstone;
-import org.bukkit.block.Block;
+import net.licks92.wirelessredstone.engine.SignalEngine;
 import org.bukkit.block.BlockFace;
-import org.bukkit.block.Sign;
 import org.bukkit.configuration.serialization.SerializableAs;
 
 import java.util.Map;
@@ -28,33 +27,28 @@ public class WirelessReceiverSwitch extends WirelessReceiver {
     }
 
     @Override
-    public void turnOn(String channelName) {
+    public void turnOn(SignalEngine engine, String channelName) {
         if (isActive) {
-            super.turnOff(channelName);
+            super.turnOff(engine, channelName);
         } else {
-            super.turnOn(channelName);
+            super.turnOn(engine, channelName);
         }
 
         isActive = !isActive;
     }
 
     @Override
-    public void turnOff(String channelName) {
+    public void turnOff(SignalEngine engine, String channelName) {
     }
 
     @Override
-    public void changeSignContent(Block block, String channelName) {
-        if (!(block.getState() instanceof Sign)) {
-            WirelessRedstone.getWRLogger().warning("Receiver " + toString() + " is not a Sign but the plugin does expect it to be a Sign. " +
-                    "Is the sign at a valid location?");
-            return;
-        }
-
-        Sign sign = (Sign) block.getState();
-        sign.setLine(0, WirelessRedstone.getStringManager().tagsReceiver.get(0));
-        sign.setLine(1, channelName);
-        sign.setLine(2, WirelessRedstone.getStringManager().tagsReceiverSwitchType.get(0));
-        sign.update();
+    protected String[] createSignLines(String channelName) {
+        return new String[]{
+                WirelessRedstone.getStringManager().tagsReceiver.get(0),
+                channelName,
+                WirelessRedstone.getStringManager().tagsReceiverSwitchType.get(0),
+                null
+        };
     }
 
     public boolean isActive() {
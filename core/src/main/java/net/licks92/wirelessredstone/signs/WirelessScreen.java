@@ -1,7 +1,9 @@
 package net.licks92.wirelessredstone.signs;
 
 import net.licks92.wirelessredstone.Utils;
+import net.licks92.wirelessredstone.WirelessRedstone;
 import org.bukkit.ChatColor;
+import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 import org.bukkit.block.Sign;
 import org.bukkit.configuration.serialization.ConfigurationSerializable;
@@ -51,12 +53,17 @@ public class WirelessScreen extends WirelessPoint implements ConfigurationSerial
     }
 
     public void updateSign(boolean isChannelOn) {
-        if (getLocation() == null)
-            return;
-
-        getLocation().getWorld().loadChunk(getLocation().getChunk());
+        WirelessRedstone.getSignalEngine().getWorld().setScreenState(this, isChannelOn);
+    }
 
-        if (!(getLocation().getBlock().getState() instanceof Sign)) {
+    /**
+     * Write the channel state to the sign right away. Only call this on the server thread with the chunk loaded.
+     *
+     * @param isChannelOn Boolean; The channel is on
+     */
+    public void applySign(boolean isChannelOn) {
+        Block block = getBlock();
+        if (block == null || !(block.getState() instanceof Sign)) {
             return;
         }
 
@@ -66,7 +73,7 @@ public class WirelessScreen extends WirelessPoint implements ConfigurationSerial
         else
             str = ChatColor.RED + "INACTIVE";
 
-        Sign sign = (Sign) getLocation().getBlock().getState();
+        Sign sign = (Sign) block.getState();
         sign.setLine(2, str);
         sign.update();
     }
@@ -0,0 +1,140 @@
+package net.licks92.wirelessredstone.signs;
+
+import net.licks92.wirelessredstone.WirelessRedstone;
+import org.bukkit.NamespacedKey;
+import org.bukkit.block.Sign;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+
+/**
+ * Marks registered signs in the PersistentDataContainer of the sign tile entity.<br>
+ * A tagged sign carries its channel name and SignType, so it can be identified without parsing the sign lines.
+ * The tag is only a hint; the storage stays the source of truth for which signs are registered.
+ */
+public final class WirelessSignTag {
+
+    private static NamespacedKey channelKey;
+    private static NamespacedKey typeKey;
+
+    private WirelessSignTag() {
+    }
+
+    /**
+     * Tag a sign. The tile entity is updated without physics.
+     *
+     * @param sign        Sign
+     * @param channelName WirelessChannel name
+     * @param type        SignType
+     */
+    public static void write(Sign sign, String channelName, SignType type) {
+        if (apply(sign, channelName, type)) {
+            sign.update(true, false);
+        }
+    }
+
+    /**
+     * Tag a sign without updating the tile entity. Use this when the sign gets updated anyway.
+     *
+     * @param sign        Sign
+     * @param channelName WirelessChannel name
+     * @param type        SignType
+     * @return Boolean; The tag changed
+     */
+    public static boolean apply(Sign sign, String channelName, SignType type) {
+        if (channelName == null || type == null) {
+            return false;
+        }
+
+        PersistentDataContainer container = sign.getPersistentDataContainer();
+        if (channelName.equals(container.get(getChannelKey(), PersistentDataType.STRING))
+                && type.name().equals(container.get(getTypeKey(), PersistentDataType.STRING))) {
+            return false;
+        }
+
+        container.set(getChannelKey(), PersistentDataType.STRING, channelName);
+        container.set(getTypeKey(), PersistentDataType.STRING, type.name());
+        return true;
+    }
+
+    public static void write(Sign sign, String channelName, WirelessPoint point) {
+        write(sign, channelName, getType(point));
+    }
+
+    public static boolean apply(Sign sign, String channelName, WirelessPoint point) {
+        return apply(sign, channelName, getType(point));
+    }
+
+    public static void clear(Sign sign) {
+        PersistentDataContainer container = sign.getPersistentDataContainer();
+        if (!container.has(getChannelKey(), PersistentDataType.STRING)) {
+            return;
+        }
+
+        container.remove(getChannelKey());
+        container.remove(getTypeKey());
+        sign.update(true, false);
+    }
+
+    public static boolean isTagged(Sign sign) {
+        return sign.getPersistentDataContainer().has(getChannelKey(), PersistentDataType.STRING);
+    }
+
+    /**
+     * @param sign Sign
+     * @return Channel name or null if the sign isn't tagged
+     */
+    public static String getChannelName(Sign sign) {
+        return sign.getPersistentDataContainer().get(getChannelKey(), PersistentDataType.STRING);
+    }
+
+    /**
+     * @param sign Sign
+     * @return SignType or null if the sign isn't tagged
+     */
+    public static SignType getSignType(Sign sign) {
+        String type = sign.getPersistentDataContainer().get(getTypeKey(), PersistentDataType.STRING);
+        if (type == null) {
+            return null;
+        }
+
+        try {
+            return SignType.valueOf(type);
+        } catch (IllegalArgumentException ex) {
+            return null;
+        }
+    }
+
+    public static SignType getType(WirelessPoint point) {
+        if (point instanceof WirelessTransmitter) {
+            return SignType.TRANSMITTER;
+        } else if (point instanceof WirelessScreen) {
+            return SignType.SCREEN;
+        } else if (point instanceof WirelessReceiverInverter) {
+            return SignType.RECEIVER_INVERTER;
+        } else if (point instanceof WirelessReceiverDelayer) {
+            return SignType.RECEIVER_DELAYER;
+        } else if (point instanceof WirelessReceiverSwitch) {
+            return SignType.RECEIVER_SWITCH;
+        } else if (point instanceof WirelessReceiverClock) {
+            return SignType.RECEIVER_CLOCK;
+        } else if (point instanceof WirelessReceiver) {
+            return SignType.RECEIVER;
+        }
+
+        return null;
+    }
+
+    private static NamespacedKey getChannelKey() {
+        if (channelKey == null) {
+            channelKey = new NamespacedKey(WirelessRedstone.getInstance(), "channel");
+        }
+        return channelKey;
+    }
+
+    private static NamespacedKey getTypeKey() {
+        if (typeKey == null) {
+            typeKey = new NamespacedKey(WirelessRedstone.getInstance(), "sign_type");
+        }
+        return typeKey;
+    }
+}
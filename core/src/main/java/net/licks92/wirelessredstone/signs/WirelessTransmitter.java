@@ -1,7 +1,7 @@
 package net.licks92.wirelessredstone.signs;
 
 import net.licks92.wirelessredstone.Utils;
-import org.bukkit.Location;
+import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 import org.bukkit.configuration.serialization.ConfigurationSerializable;
 import org.bukkit.configuration.serialization.SerializableAs;
@@ -42,17 +42,12 @@ public class WirelessTransmitter extends WirelessPoint implements ConfigurationS
     }
 
     public boolean isPowered() {
-        Location loc = getLocation();
-        if (loc == null) {
+        Block block = getBlock();
+        if (block == null) {
             return false;
         }
 
-        // MC <= 1.12 #getBlock can be NULL
-        if (loc.getBlock() == null) {
-            return false;
-        }
-
-        return loc.getBlock().isBlockIndirectlyPowered() || loc.getBlock().isBlockPowered();
+        return block.isBlockIndirectlyPowered() || block.isBlockPowered();
     }
 
     @Override
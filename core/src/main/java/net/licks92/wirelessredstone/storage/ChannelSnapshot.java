@@ -0,0 +1,352 @@
+package net.licks92.wirelessredstone.storage;
+
+import net.licks92.wirelessredstone.WirelessRedstone;
+import net.licks92.wirelessredstone.signs.WirelessChannel;
+import net.licks92.wirelessredstone.signs.WirelessPoint;
+import net.licks92.wirelessredstone.signs.WirelessReceiver;
+import net.licks92.wirelessredstone.signs.WirelessReceiverClock;
+import net.licks92.wirelessredstone.signs.WirelessReceiverDelayer;
+import net.licks92.wirelessredstone.signs.WirelessReceiverInverter;
+import net.licks92.wirelessredstone.signs.WirelessReceiverSwitch;
+import net.licks92.wirelessredstone.signs.WirelessScreen;
+import net.licks92.wirelessredstone.signs.WirelessTransmitter;
+import org.bukkit.block.BlockFace;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Compact binary copy of all channels, written when the storage closes.<br>
+ * The snapshot remembers a fingerprint of the primary store. On startup it is only used
+ * when the primary store is unchanged since the snapshot was written and its checksum matches;
+ * otherwise the channels are loaded from the primary store as usual.
+ *
+ * <pre>
+ * int magic, int version, long fingerprint, int payload length, long payload crc32
+ * payload: string table, channels (name, id, locked, active, owners, points)
+ * </pre>
+ */
+class ChannelSnapshot {
+
+    static final String FILE_NAME = "channels.snapshot";
+
+    private static final int MAGIC = 0x57525353; // WRSS
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 4 + 4 + 8 + 4 + 8;
+
+    private static final byte TYPE_TRANSMITTER = 0;
+    private static final byte TYPE_RECEIVER = 1;
+    private static final byte TYPE_SCREEN = 2;
+    private static final byte TYPE_INVERTER = 3;
+    private static final byte TYPE_DELAYER = 4;
+    private static final byte TYPE_SWITCH = 5;
+    private static final byte TYPE_CLOCK = 6;
+
+    private static final BlockFace[] BLOCK_FACES = BlockFace.values();
+
+    private ChannelSnapshot() {
+    }
+
+    /**
+     * Fingerprint of every file of the primary store.
+     * Changes whenever a file is added, removed or modified.
+     *
+     * @param channelFolder Folder of the primary store
+     * @param storageType   Type of the primary store
+     * @return Fingerprint
+     */
+    static long fingerprint(File channelFolder, StorageType storageType) {
+        File[] files = channelFolder.listFiles();
+        long hash = 1125899906842597L + storageType.ordinal();
+        if (files == null) {
+            return hash;
+        }
+
+        Arrays.sort(files, Comparator.comparing(File::getName));
+        for (File file : files) {
+            // SQLite keeps these around while the database is open, they don't hold data
+            if (file.getName().endsWith("-shm") || (file.getName().endsWith("-wal") && file.length() == 0)) {
+                continue;
+            }
+
+            hash = 31 * hash + file.getName().hashCode();
+            hash = 31 * hash + file.length();
+            hash = 31 * hash + file.lastModified();
+        }
+
+        return hash;
+    }
+
+    static void write(File file, Collection<WirelessChannel> channels, long fingerprint) throws IOException {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        for (WirelessChannel channel : channels) {
+            intern(strings, channel.getName());
+            channel.getOwners().forEach(owner -> intern(strings, owner));
+            for (WirelessPoint point : channel.getSigns()) {
+                intern(strings, point.getWorld());
+                intern(strings, point.getOwner());
+            }
+        }
+
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(payload);
+
+        out.writeInt(strings.size());
+        for (String string : strings.keySet()) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        out.writeInt(channels.size());
+        for (WirelessChannel channel : channels) {
+            writeString(out, strings, channel.getName());
+            out.writeInt(channel.getId());
+            out.writeBoolean(channel.isLocked());
+            out.writeBoolean(channel.isActive());
+
+            out.writeInt(channel.getOwners().size());
+            for (String owner : channel.getOwners()) {
+                writeString(out, strings, owner);
+            }
+
+            List<WirelessPoint> points = channel.getSigns();
+            out.writeInt(points.size());
+            for (WirelessPoint point : points) {
+                writePoint(out, strings, point);
+            }
+        }
+        out.flush();
+
+        CRC32 crc = new CRC32();
+        crc.update(payload.toByteArray());
+
+        File temporaryFile = new File(file.getPath() + ".tmp");
+        try (DataOutputStream fileOut = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile.toPath())))) {
+            fileOut.writeInt(MAGIC);
+            fileOut.writeInt(VERSION);
+            fileOut.writeLong(fingerprint);
+            fileOut.writeInt(payload.size());
+            fileOut.writeLong(crc.getValue());
+            payload.writeTo(fileOut);
+        }
+        Files.move(temporaryFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Read a snapshot.
+     *
+     * @param file        Snapshot file
+     * @param fingerprint Current fingerprint of the primary store
+     * @return Channels or null if the snapshot is missing, stale or corrupt
+     */
+    static Collection<WirelessChannel> read(File file, long fingerprint) {
+        if (!file.exists()) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() < HEADER_SIZE) {
+                WirelessRedstone.getWRLogger().debug("Channel snapshot is truncated.");
+                return null;
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                WirelessRedstone.getWRLogger().debug("Channel snapshot has an unknown format.");
+                return null;
+            }
+
+            if (buffer.getLong() != fingerprint) {
+                WirelessRedstone.getWRLogger().debug("Channel snapshot is stale.");
+                return null;
+            }
+
+            int length = buffer.getInt();
+            long checksum = buffer.getLong();
+            if (length < 0 || length != buffer.remaining()) {
+                WirelessRedstone.getWRLogger().debug("Channel snapshot is truncated.");
+                return null;
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate());
+            if (crc.getValue() != checksum) {
+                WirelessRedstone.getWRLogger().warning("Channel snapshot is corrupt, loading from the storage instead.");
+                return null;
+            }
+
+            return readPayload(buffer);
+        } catch (IOException | RuntimeException ex) {
+            WirelessRedstone.getWRLogger().warning("Couldn't read the channel snapshot: " + ex.getMessage());
+            return null;
+        }
+    }
+
+    private static Collection<WirelessChannel> readPayload(ByteBuffer buffer) {
+        String[] strings = new String[buffer.getInt()];
+        for (int i = 0; i < strings.length; i++) {
+            byte[] bytes = new byte[buffer.getInt()];
+            buffer.get(bytes);
+            strings[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        int channelCount = buffer.getInt();
+        Collection<WirelessChannel> channels = new ArrayList<>(channelCount);
+        for (int i = 0; i < channelCount; i++) {
+            String name = readString(buffer, strings);
+            int id = buffer.getInt();
+            boolean locked = buffer.get() != 0;
+            boolean active = buffer.get() != 0;
+
+            int ownerCount = buffer.getInt();
+            List<String> owners = new ArrayList<>(ownerCount);
+            for (int j = 0; j < ownerCount; j++) {
+                owners.add(readString(buffer, strings));
+            }
+
+            WirelessChannel channel = new WirelessChannel(name, owners, locked);
+            channel.setId(id);
+            channel.setActive(active);
+
+            int pointCount = buffer.getInt();
+            for (int j = 0; j < pointCount; j++) {
+                channel.addWirelessPoint(readPoint(buffer, strings));
+            }
+
+            channels.add(channel);
+        }
+
+        if (buffer.hasRemaining()) {
+            throw new IllegalStateException("Unexpected data after the last channel");
+        }
+
+        return channels;
+    }
+
+    private static void writePoint(DataOutputStream out, Map<String, Integer> strings, WirelessPoint point) throws IOException {
+        out.writeByte(typeOf(point));
+        out.writeInt(point.getX());
+        out.writeInt(point.getY());
+        out.writeInt(point.getZ());
+        writeString(out, strings, point.getWorld());
+        writeString(out, strings, point.getOwner());
+        out.writeByte(point.getDirection().ordinal());
+        out.writeBoolean(point.isWallSign());
+        out.writeInt(extraOf(point));
+    }
+
+    private static WirelessPoint readPoint(ByteBuffer buffer, String[] strings) {
+        byte type = buffer.get();
+        int x = buffer.getInt();
+        int y = buffer.getInt();
+        int z = buffer.getInt();
+        String world = readString(buffer, strings);
+        String owner = readString(buffer, strings);
+        BlockFace direction = BLOCK_FACES[buffer.get()];
+        boolean isWallSign = buffer.get() != 0;
+        int extra = buffer.getInt();
+
+        return createPoint(type, x, y, z, world, isWallSign, direction, owner, extra);
+    }
+
+    /**
+     * @param point WirelessPoint
+     * @return Binary type of the point, shared by every binary format of the storage
+     * @throws IOException If the point has an unknown type
+     */
+    static byte typeOf(WirelessPoint point) throws IOException {
+        if (point instanceof WirelessTransmitter) {
+            return TYPE_TRANSMITTER;
+        } else if (point instanceof WirelessScreen) {
+            return TYPE_SCREEN;
+        } else if (point instanceof WirelessReceiverInverter) {
+            return TYPE_INVERTER;
+        } else if (point instanceof WirelessReceiverDelayer) {
+            return TYPE_DELAYER;
+        } else if (point instanceof WirelessReceiverSwitch) {
+            return TYPE_SWITCH;
+        } else if (point instanceof WirelessReceiverClock) {
+            return TYPE_CLOCK;
+        } else if (point instanceof WirelessReceiver) {
+            return TYPE_RECEIVER;
+        }
+
+        throw new IOException("Unknown WirelessPoint type " + point.getClass().getName());
+    }
+
+    /**
+     * @param point WirelessPoint
+     * @return Delay of delayers and clocks, state of switches, 0 for every other type
+     */
+    static int extraOf(WirelessPoint point) {
+        if (point instanceof WirelessReceiverDelayer) {
+            return ((WirelessReceiverDelayer) point).getDelay();
+        } else if (point instanceof WirelessReceiverSwitch) {
+            return ((WirelessReceiverSwitch) point).isActive() ? 1 : 0;
+        } else if (point instanceof WirelessReceiverClock) {
+            return ((WirelessReceiverClock) point).getDelay();
+        }
+
+        return 0;
+    }
+
+    static BlockFace directionOf(int ordinal) {
+        return BLOCK_FACES[ordinal];
+    }
+
+    static WirelessPoint createPoint(byte type, int x, int y, int z, String world, boolean isWallSign, BlockFace direction,
+                                     String owner, int extra) {
+        switch (type) {
+            case TYPE_TRANSMITTER:
+                return new WirelessTransmitter(x, y, z, world, isWallSign, direction, owner);
+            case TYPE_RECEIVER:
+                return new WirelessReceiver(x, y, z, world, isWallSign, direction, owner);
+            case TYPE_SCREEN:
+                return new WirelessScreen(x, y, z, world, isWallSign, direction, owner);
+            case TYPE_INVERTER:
+                return new WirelessReceiverInverter(x, y, z, world, isWallSign, direction, owner);
+            case TYPE_DELAYER:
+                return new WirelessReceiverDelayer(x, y, z, world, isWallSign, direction, owner, extra);
+            case TYPE_SWITCH:
+                return new WirelessReceiverSwitch(x, y, z, world, isWallSign, direction, owner, extra != 0);
+            case TYPE_CLOCK:
+                return new WirelessReceiverClock(x, y, z, world, isWallSign, direction, owner, extra);
+            default:
+                throw new IllegalStateException("Unknown point type " + type);
+        }
+    }
+
+    private static void intern(Map<String, Integer> strings, String string) {
+        if (string != null) {
+            strings.putIfAbsent(string, strings.size());
+        }
+    }
+
+    private static void writeString(DataOutputStream out, Map<String, Integer> strings, String string) throws IOException {
+        out.writeInt(string == null ? -1 : strings.get(string));
+    }
+
+    private static String readString(ByteBuffer buffer, String[] strings) {
+        int index = buffer.getInt();
+        return index < 0 ? null : strings[index];
+    }
+}
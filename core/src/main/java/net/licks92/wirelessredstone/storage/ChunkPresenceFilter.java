@@ -0,0 +1,189 @@
+package net.licks92.wirelessredstone.storage;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Set of chunk keys in one world that contain a transmitter or border a transmitter's reach.<br>
+ * Keys are kept in a primitive open addressing table. Reads are lock-free and don't allocate, single writes
+ * change one slot in place and only rehash when the table has to grow. Removed keys leave a marker behind,
+ * so a concurrent read never misses a key that is still present. Use {@link #addAll(Collection)} to fill the
+ * filter with many keys at once, the table is then built a single time.
+ */
+class ChunkPresenceFilter {
+
+    private static final long FREE = 0L;
+    private static final long REMOVED = Long.MIN_VALUE;
+
+    private final Map<Long, Integer> references = new HashMap<>();
+    private volatile long[] slots = new long[0];
+    private volatile boolean containsFree;
+    private volatile boolean containsRemoved;
+    /* Slots that aren't FREE, including the REMOVED markers */
+    private int used;
+
+    static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX & 0xFFFFFFFFL) | (((long) chunkZ & 0xFFFFFFFFL) << 32);
+    }
+
+    boolean contains(int chunkX, int chunkZ) {
+        return contains(chunkKey(chunkX, chunkZ));
+    }
+
+    synchronized void increment(long chunkKey) {
+        if (references.merge(chunkKey, 1, Integer::sum) == 1) {
+            insert(chunkKey);
+        }
+    }
+
+    /**
+     * Add a reference for every key in the collection. Keys may appear more than once.
+     *
+     * @param chunkKeys Chunk keys
+     */
+    synchronized void addAll(Collection<Long> chunkKeys) {
+        for (long chunkKey : chunkKeys) {
+            references.merge(chunkKey, 1, Integer::sum);
+        }
+        rehash();
+    }
+
+    synchronized void decrement(long chunkKey) {
+        Integer count = references.get(chunkKey);
+        if (count == null) {
+            return;
+        }
+
+        if (count <= 1) {
+            references.remove(chunkKey);
+            delete(chunkKey);
+        } else {
+            references.put(chunkKey, count - 1);
+        }
+    }
+
+    synchronized boolean isEmpty() {
+        return references.isEmpty();
+    }
+
+    private boolean contains(long key) {
+        if (key == FREE) {
+            return containsFree;
+        }
+        if (key == REMOVED) {
+            return containsRemoved;
+        }
+
+        long[] table = slots;
+        if (table.length == 0) {
+            return false;
+        }
+
+        int mask = table.length - 1;
+        int slot = mix(key) & mask;
+        long current;
+        while ((current = table[slot]) != FREE) {
+            if (current == key) {
+                return true;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        return false;
+    }
+
+    private void insert(long key) {
+        if (key == FREE) {
+            containsFree = true;
+            return;
+        }
+        if (key == REMOVED) {
+            containsRemoved = true;
+            return;
+        }
+
+        long[] table = slots;
+        if ((used + 1) * 2 > table.length) {
+            rehash();
+            return;
+        }
+
+        int mask = table.length - 1;
+        int slot = mix(key) & mask;
+        while (table[slot] != FREE && table[slot] != REMOVED) {
+            slot = (slot + 1) & mask;
+        }
+
+        if (table[slot] == FREE) {
+            used++;
+        }
+        table[slot] = key;
+        // Publish the slot to readers through the volatile field
+        slots = table;
+    }
+
+    private void delete(long key) {
+        if (key == FREE) {
+            containsFree = false;
+            return;
+        }
+        if (key == REMOVED) {
+            containsRemoved = false;
+            return;
+        }
+
+        long[] table = slots;
+        if (table.length == 0) {
+            return;
+        }
+
+        int mask = table.length - 1;
+        int slot = mix(key) & mask;
+        long current;
+        while ((current = table[slot]) != FREE) {
+            if (current == key) {
+                table[slot] = REMOVED;
+                slots = table;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private void rehash() {
+        int capacity = Integer.highestOneBit(Math.max(references.size(), 1) * 4 - 1) << 1;
+        long[] table = new long[capacity];
+        int count = 0;
+        boolean free = false;
+        boolean removed = false;
+
+        for (long key : references.keySet()) {
+            if (key == FREE) {
+                free = true;
+                continue;
+            }
+            if (key == REMOVED) {
+                removed = true;
+                continue;
+            }
+
+            int slot = mix(key) & (capacity - 1);
+            while (table[slot] != FREE) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            table[slot] = key;
+            count++;
+        }
+
+        used = count;
+        containsFree = free;
+        containsRemoved = removed;
+        slots = table;
+    }
+
+    private static int mix(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+}
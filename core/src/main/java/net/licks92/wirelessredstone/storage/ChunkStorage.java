@@ -0,0 +1,704 @@
+package net.licks92.wirelessredstone.storage;
+
+import net.licks92.wirelessredstone.WirelessRedstone;
+import net.licks92.wirelessredstone.signs.WirelessChannel;
+import net.licks92.wirelessredstone.signs.WirelessPoint;
+import net.licks92.wirelessredstone.signs.WirelessReceiver;
+import net.licks92.wirelessredstone.signs.WirelessReceiverSwitch;
+import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
+import org.bukkit.NamespacedKey;
+import org.bukkit.World;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.persistence.PersistentDataContainer;
+import org.bukkit.persistence.PersistentDataType;
+import org.bukkit.scheduler.BukkitTask;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Stores every WirelessPoint in the PersistentDataContainer of the chunk it is in.<br>
+ * Each chunk holds one compact binary record with all of its points, so the points are saved by the server
+ * together with the chunk. Only the channel metadata (owners, locked, active) and a directory of the chunks
+ * every channel has points in are kept in a small file in the channel folder.<br>
+ * Points are read when their chunk loads. On startup every chunk of the directory is loaded in the background
+ * a few per tick, so receivers in chunks nobody visited yet are known as well.<br>
+ * Changes to a chunk that isn't loaded mark it dirty; the chunk is loaded in the background and written
+ * as soon as it is ready. Chunks that are still dirty when the storage closes are written right away.
+ *
+ * <pre>
+ * chunk record: byte version, int string count, strings (utf),
+ *               int point count, points (type, local xz, y, direction, wallsign, extra, channel, owner)
+ * </pre>
+ */
+@SuppressWarnings("ResultOfMethodCallIgnored")
+public class ChunkStorage extends StorageConfiguration {
+
+    static final String META_NAME = "channels.meta";
+
+    private static final byte RECORD_VERSION = 1;
+    private static final int CHUNKS_PER_TICK = 4;
+
+    private final File channelFolder;
+    private final File metaFile;
+    private final NamespacedKey pointsKey;
+    private final ExecutorService writer;
+
+    /* Channels that have points in a chunk, only touched by the server thread */
+    private final Map<ChunkId, Set<String>> directory = new HashMap<>();
+    private final Set<ChunkId> readChunks = new HashSet<>();
+    private final Deque<ChunkId> warmup = new ArrayDeque<>();
+    private final Set<ChunkId> dirtyChunks = new HashSet<>();
+    /* Channels that were removed while their records were still in the chunk */
+    private final Map<ChunkId, Set<String>> purgedChannels = new HashMap<>();
+    private BukkitTask warmupTask;
+    private boolean metaScheduled = false;
+    private Future<?> lastMetaWrite;
+
+    public ChunkStorage(String channelFolder) {
+        this.channelFolder = new File(WirelessRedstone.getInstance().getDataFolder(), channelFolder);
+        this.metaFile = new File(this.channelFolder, META_NAME);
+        this.pointsKey = new NamespacedKey(WirelessRedstone.getInstance(), "points");
+        this.writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "WirelessRedstone-ChunkStorage");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        YamlStorage.registerSerialization();
+    }
+
+    @Override
+    public boolean initStorage() {
+        WirelessRedstone.getStorageManager().updateChannels(false);
+
+        StorageType oldStorageType = canConvertFromType();
+        if (oldStorageType != null && !WirelessRedstone.getStorageManager().moveStorageFromType(oldStorageType)) {
+            return false;
+        }
+
+        for (ChunkId chunk : directory.keySet()) {
+            if (!readChunks.contains(chunk)) {
+                warmup.add(chunk);
+            }
+        }
+
+        if (!warmup.isEmpty()) {
+            WirelessRedstone.getWRLogger().debug("Reading signs from " + warmup.size() + " unloaded chunks.");
+            warmupTask = Bukkit.getScheduler().runTaskTimer(WirelessRedstone.getInstance(), this::warmupTick, 1L, 1L);
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean close() {
+        if (warmupTask != null) {
+            warmupTask.cancel();
+            warmupTask = null;
+        }
+
+        // Only used to read the channels for a conversion
+        if (WirelessRedstone.getStorageManager().getStorage() != this) {
+            writer.shutdown();
+            return true;
+        }
+
+        // Switch states and active states change without a storage call, unloaded chunks are already dirty
+        for (WirelessChannel channel : WirelessRedstone.getStorageManager().getChannels()) {
+            for (WirelessReceiver receiver : channel.getReceivers()) {
+                World world = receiver.getBukkitWorld();
+                if (receiver instanceof WirelessReceiverSwitch && world != null
+                        && world.isChunkLoaded(receiver.getChunkX(), receiver.getChunkZ())) {
+                    writeChunk(receiver.getWorld(), receiver.getChunkX(), receiver.getChunkZ(), false);
+                }
+            }
+        }
+
+        // The server is stopping, there is no later chunk load to wait for
+        for (ChunkId chunk : new ArrayList<>(dirtyChunks)) {
+            writeChunk(chunk.world(), chunk.x(), chunk.z(), true);
+        }
+
+        writeMeta();
+        flushJournal();
+        writer.shutdown();
+        return true;
+    }
+
+    /**
+     * Channels of the metadata file with the points of every chunk that is loaded right now.
+     * Points in other chunks are added when the chunks load.
+     */
+    @Override
+    protected Collection<WirelessChannel> getAllChannels() {
+        Map<String, WirelessChannel> channels = readMeta();
+
+        readChunks.clear();
+        if (Bukkit.isPrimaryThread()) {
+            for (World world : Bukkit.getWorlds()) {
+                for (Chunk chunk : world.getLoadedChunks()) {
+                    ChunkId id = ChunkId.of(chunk);
+                    if (directory.containsKey(id)) {
+                        readChunks.add(id);
+                        readRecords(chunk, channels::get, null);
+                    }
+                }
+            }
+        }
+
+        return channels.values();
+    }
+
+    /**
+     * Read every channel with all of its points, loading every chunk of the directory.
+     * Only used to convert this storage to another storage type.
+     *
+     * @return Channels
+     */
+    Collection<WirelessChannel> getAllChannelsWithUnloadedChunks() {
+        Map<String, WirelessChannel> channels = readMeta();
+
+        for (ChunkId id : new ArrayList<>(directory.keySet())) {
+            World world = Bukkit.getWorld(id.world());
+            if (world != null) {
+                readRecords(world.getChunkAt(id.x(), id.z()), channels::get, null);
+            }
+        }
+
+        return channels.values();
+    }
+
+    @Override
+    public void onChunkLoad(Chunk chunk) {
+        ChunkId id = ChunkId.of(chunk);
+        if (dirtyChunks.contains(id)) {
+            writeChunk(id.world(), id.x(), id.z(), false);
+            return;
+        }
+
+        if (!directory.containsKey(id) || !readChunks.add(id)) {
+            return;
+        }
+
+        StorageManager storageManager = WirelessRedstone.getStorageManager();
+        readRecords(chunk, storageManager::getChannel, (channel, point) -> {
+            if (storageManager.getPointIndex().get(point.getWorld(), point.getX(), point.getY(), point.getZ()) != null) {
+                return;
+            }
+
+            // Transmitters are checked on the next tick by the WorldListener, after the points are indexed
+            channel.addWirelessPoint(point);
+            storageManager.getPointIndex().add(channel, point);
+        });
+    }
+
+    @Override
+    public boolean createChannel(WirelessChannel channel) {
+        super.createChannel(channel);
+
+        // Converted channels come with their points, group them so every chunk is written once
+        Set<ChunkId> chunks = new HashSet<>();
+        for (WirelessPoint point : channel.getSigns()) {
+            chunks.add(ChunkId.of(point));
+        }
+        for (ChunkId chunk : chunks) {
+            writeChunk(chunk.world(), chunk.x(), chunk.z(), true);
+        }
+
+        scheduleMeta();
+        return true;
+    }
+
+    @Override
+    public boolean createWirelessPoint(String channelName, WirelessPoint wirelessPoint) {
+        super.createWirelessPoint(channelName, wirelessPoint);
+
+        writeChunk(wirelessPoint.getWorld(), wirelessPoint.getChunkX(), wirelessPoint.getChunkZ(), true);
+        return true;
+    }
+
+    @Override
+    public boolean removeWirelessPoint(String channelName, WirelessPoint wirelessPoint) {
+        WirelessChannel channel = WirelessRedstone.getStorageManager().getChannel(channelName);
+        channel.removeWirelessPoint(wirelessPoint);
+        WirelessRedstone.getStorageManager().getPointIndex().remove(wirelessPoint);
+
+        writeChunk(wirelessPoint.getWorld(), wirelessPoint.getChunkX(), wirelessPoint.getChunkZ(), true);
+
+        if (isChannelEmpty(channel)) {
+            WirelessRedstone.getStorage().removeChannel(channelName, false);
+        } else {
+            WirelessRedstone.getStorageManager().updateList(channelName, channel);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean updateChannel(String channelName, WirelessChannel channel) {
+        super.updateChannel(channelName, channel);
+
+        scheduleMeta();
+        return true;
+    }
+
+    /**
+     * Every chunk of the channel is rewritten, so a new channel with the same name never picks up the old points.
+     * Until an unloaded chunk is rewritten, its records of this channel are ignored.
+     */
+    @Override
+    public boolean removeChannel(String channelName, boolean removeSigns) {
+        List<ChunkId> chunks = new ArrayList<>();
+        directory.entrySet().removeIf(entry -> {
+            if (entry.getValue().remove(channelName)) {
+                chunks.add(entry.getKey());
+            }
+            return entry.getValue().isEmpty();
+        });
+
+        super.removeChannel(channelName, removeSigns);
+
+        for (ChunkId chunk : chunks) {
+            if (!readChunks.contains(chunk)) {
+                purgedChannels.computeIfAbsent(chunk, id -> new HashSet<>()).add(channelName);
+            }
+            writeChunk(chunk.world(), chunk.x(), chunk.z(), false);
+        }
+
+        scheduleMeta();
+        return true;
+    }
+
+    @Override
+    public boolean wipeData() {
+        flushJournal();
+        directory.clear();
+        readChunks.clear();
+        dirtyChunks.clear();
+        purgedChannels.clear();
+        warmup.clear();
+        metaFile.delete();
+
+        return super.wipeData();
+    }
+
+    @Override
+    public void updateSwitchState(WirelessChannel channel) {
+        Set<ChunkId> chunks = new HashSet<>();
+        for (WirelessReceiver receiver : channel.getReceivers()) {
+            if (receiver instanceof WirelessReceiverSwitch) {
+                chunks.add(ChunkId.of(receiver));
+            }
+        }
+
+        for (ChunkId chunk : chunks) {
+            writeChunk(chunk.world(), chunk.x(), chunk.z(), false);
+        }
+    }
+
+    @Override
+    protected boolean isChannelEmpty(WirelessChannel channel) {
+        if (!channel.isEmpty()) {
+            return false;
+        }
+
+        for (Set<String> channelNames : directory.values()) {
+            if (channelNames.contains(channel.getName())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Block until the metadata file is written.
+     */
+    @Override
+    public void flushJournal() {
+        if (metaScheduled || lastMetaWrite == null) {
+            writeMeta();
+        }
+
+        Future<?> write = lastMetaWrite;
+        if (write == null) {
+            return;
+        }
+
+        try {
+            write.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ex) {
+            WirelessRedstone.getWRLogger().severe("Couldn't save the channel metadata!");
+            ex.getCause().printStackTrace();
+        }
+    }
+
+    @Override
+    protected StorageType canConvertFromType() {
+        File[] files = channelFolder.listFiles();
+        if (files == null) {
+            return null;
+        }
+
+        for (File file : files) {
+            if (file.getName().toLowerCase().endsWith(".yml")) {
+                return StorageType.YAML;
+            } else if (file.getName().contains(".db")) {
+                return StorageType.SQLITE;
+            }
+        }
+
+        return null;
+    }
+
+    private void warmupTick() {
+        for (int i = 0; i < CHUNKS_PER_TICK && !warmup.isEmpty(); i++) {
+            ChunkId id = warmup.poll();
+            World world = Bukkit.getWorld(id.world());
+            if (world == null || readChunks.contains(id)) {
+                continue;
+            }
+
+            // Loading the chunk fires the ChunkLoadEvent that reads the points
+            WirelessRedstone.getInstrumentation().getChunkLoads().inc("storage");
+            world.getChunkAtAsync(id.x(), id.z());
+        }
+
+        if (warmup.isEmpty() && warmupTask != null) {
+            warmupTask.cancel();
+            warmupTask = null;
+        }
+    }
+
+    /**
+     * Write the record of a chunk from the points that are in memory.
+     *
+     * @param worldName World name
+     * @param chunkX    Chunk x
+     * @param chunkZ    Chunk z
+     * @param load      Load the chunk on the server thread if it isn't loaded; only used while the storage closes.
+     *                  Otherwise an unloaded chunk is marked dirty and written once it is loaded in the background.
+     */
+    private void writeChunk(String worldName, int chunkX, int chunkZ, boolean load) {
+        World world = Bukkit.getWorld(worldName);
+        if (world == null) {
+            return;
+        }
+
+        ChunkId id = new ChunkId(worldName, chunkX, chunkZ);
+        if (!load && !world.isChunkLoaded(chunkX, chunkZ)) {
+            if (dirtyChunks.add(id) && WirelessRedstone.getInstance().isEnabled()) {
+                WirelessRedstone.getInstrumentation().getChunkLoads().inc("storage");
+                // Loading the chunk fires the ChunkLoadEvent that writes it
+                world.getChunkAtAsync(chunkX, chunkZ).thenAccept(chunk -> {
+                    if (dirtyChunks.contains(id)) {
+                        writeChunk(worldName, chunkX, chunkZ, false);
+                    }
+                });
+            }
+            return;
+        }
+
+        Chunk chunk = world.getChunkAt(chunkX, chunkZ);
+        dirtyChunks.remove(id);
+
+        // Points that weren't read yet would be overwritten
+        if (directory.containsKey(id) && !readChunks.contains(id)) {
+            onChunkLoad(chunk);
+        }
+        readChunks.add(id);
+        purgedChannels.remove(id);
+
+        Map<WirelessPoint, WirelessChannel> points = new LinkedHashMap<>();
+        for (WirelessPointIndex.Entry entry : WirelessRedstone.getStorageManager().getPointIndex().getChunk(worldName, chunkX, chunkZ)) {
+            points.put(entry.point(), entry.channel());
+        }
+
+        PersistentDataContainer container = chunk.getPersistentDataContainer();
+        if (points.isEmpty()) {
+            container.remove(pointsKey);
+        } else {
+            try {
+                container.set(pointsKey, PersistentDataType.BYTE_ARRAY, encode(points));
+            } catch (IOException ex) {
+                WirelessRedstone.getWRLogger().severe("Couldn't save the signs of chunk " + id + "!");
+                ex.printStackTrace();
+                return;
+            }
+        }
+
+        Set<String> channelNames = new HashSet<>();
+        points.values().forEach(channel -> channelNames.add(channel.getName()));
+
+        Set<String> previous = channelNames.isEmpty() ? directory.remove(id) : directory.put(id, channelNames);
+        if (!channelNames.equals(previous == null ? Set.of() : previous)) {
+            scheduleMeta();
+        }
+    }
+
+    private void readRecords(Chunk chunk, Function<String, WirelessChannel> channels, BiConsumer<WirelessChannel, WirelessPoint> consumer) {
+        byte[] record = chunk.getPersistentDataContainer().get(pointsKey, PersistentDataType.BYTE_ARRAY);
+        if (record == null) {
+            return;
+        }
+
+        Set<String> purged = purgedChannels.getOrDefault(ChunkId.of(chunk), Set.of());
+        boolean stale = false;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(record))) {
+            byte version = in.readByte();
+            if (version != RECORD_VERSION) {
+                throw new IOException("Unknown record version " + version);
+            }
+
+            String[] strings = new String[in.readInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = in.readUTF();
+            }
+
+            int pointCount = in.readInt();
+            for (int i = 0; i < pointCount; i++) {
+                byte type = in.readByte();
+                int local = in.readUnsignedByte();
+                int y = in.readInt();
+                int direction = in.readUnsignedByte();
+                boolean isWallSign = in.readBoolean();
+                int extra = in.readInt();
+                String channelName = strings[in.readInt()];
+                int ownerIndex = in.readInt();
+
+                WirelessChannel channel = purged.contains(channelName) ? null : channels.apply(channelName);
+                if (channel == null) {
+                    // Channel was removed while the chunk was unloaded
+                    stale = true;
+                    continue;
+                }
+
+                WirelessPoint point = ChannelSnapshot.createPoint(type,
+                        (chunk.getX() << 4) | (local >> 4), y, (chunk.getZ() << 4) | (local & 15),
+                        chunk.getWorld().getName(), isWallSign, ChannelSnapshot.directionOf(direction),
+                        ownerIndex < 0 ? null : strings[ownerIndex], extra);
+
+                if (consumer == null) {
+                    channel.addWirelessPoint(point);
+                } else {
+                    consumer.accept(channel, point);
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            WirelessRedstone.getWRLogger().warning("Couldn't read the signs of chunk " + ChunkId.of(chunk) + ": " + ex.getMessage());
+            return;
+        }
+
+        if (stale && consumer != null) {
+            writeChunk(chunk.getWorld().getName(), chunk.getX(), chunk.getZ(), false);
+        }
+    }
+
+    private static byte[] encode(Map<WirelessPoint, WirelessChannel> points) throws IOException {
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        for (Map.Entry<WirelessPoint, WirelessChannel> entry : points.entrySet()) {
+            strings.putIfAbsent(entry.getValue().getName(), strings.size());
+            if (entry.getKey().getOwner() != null) {
+                strings.putIfAbsent(entry.getKey().getOwner(), strings.size());
+            }
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(RECORD_VERSION);
+
+        out.writeInt(strings.size());
+        for (String string : strings.keySet()) {
+            out.writeUTF(string);
+        }
+
+        out.writeInt(points.size());
+        for (Map.Entry<WirelessPoint, WirelessChannel> entry : points.entrySet()) {
+            WirelessPoint point = entry.getKey();
+            out.writeByte(ChannelSnapshot.typeOf(point));
+            out.writeByte(((point.getX() & 15) << 4) | (point.getZ() & 15));
+            out.writeInt(point.getY());
+            out.writeByte(point.getDirection().ordinal());
+            out.writeBoolean(point.isWallSign());
+            out.writeInt(ChannelSnapshot.extraOf(point));
+            out.writeInt(strings.get(entry.getValue().getName()));
+            out.writeInt(point.getOwner() == null ? -1 : strings.get(point.getOwner()));
+        }
+        out.flush();
+
+        return bytes.toByteArray();
+    }
+
+    private Map<String, WirelessChannel> readMeta() {
+        Map<String, WirelessChannel> channels = new LinkedHashMap<>();
+        directory.clear();
+        if (!metaFile.exists()) {
+            return channels;
+        }
+
+        YamlConfiguration config = new YamlConfiguration();
+        try {
+            config.load(metaFile);
+        } catch (IOException | InvalidConfigurationException ex) {
+            WirelessRedstone.getWRLogger().severe("Couldn't load the channel metadata!");
+            ex.printStackTrace();
+            return channels;
+        }
+
+        for (Map<?, ?> map : config.getMapList("channels")) {
+            String name = (String) map.get("name");
+            if (name == null) {
+                continue;
+            }
+
+            List<String> owners = new ArrayList<>();
+            if (map.get("owners") instanceof List<?> list) {
+                list.forEach(owner -> owners.add(String.valueOf(owner)));
+            }
+
+            WirelessChannel channel = new WirelessChannel(name, owners, Boolean.TRUE.equals(map.get("locked")));
+            channel.setId(map.get("id") instanceof Number id ? id.intValue() : 0);
+            channel.setActive(Boolean.TRUE.equals(map.get("active")));
+            channels.put(name, channel);
+
+            if (map.get("chunks") instanceof Map<?, ?> worlds) {
+                for (Map.Entry<?, ?> world : worlds.entrySet()) {
+                    if (!(world.getValue() instanceof List<?> list)) {
+                        continue;
+                    }
+
+                    for (Object coordinates : list) {
+                        ChunkId id = ChunkId.parse(String.valueOf(world.getKey()), String.valueOf(coordinates));
+                        if (id != null) {
+                            directory.computeIfAbsent(id, chunk -> new HashSet<>()).add(name);
+                        }
+                    }
+                }
+            }
+        }
+
+        return channels;
+    }
+
+    private void scheduleMeta() {
+        if (metaScheduled) {
+            return;
+        }
+
+        metaScheduled = true;
+        if (WirelessRedstone.getInstance().isEnabled()) {
+            Bukkit.getScheduler().runTask(WirelessRedstone.getInstance(), () -> {
+                if (metaScheduled) {
+                    writeMeta();
+                }
+            });
+        }
+    }
+
+    /**
+     * Serialize the metadata on the server thread and write it on the writer thread.
+     */
+    private void writeMeta() {
+        metaScheduled = false;
+
+        Map<String, Map<String, List<String>>> channelChunks = new HashMap<>();
+        for (Map.Entry<ChunkId, Set<String>> entry : directory.entrySet()) {
+            ChunkId id = entry.getKey();
+            for (String channelName : entry.getValue()) {
+                channelChunks.computeIfAbsent(channelName, name -> new LinkedHashMap<>())
+                        .computeIfAbsent(id.world(), world -> new ArrayList<>())
+                        .add(id.x() + "," + id.z());
+            }
+        }
+
+        List<Map<String, Object>> channels = new ArrayList<>();
+        for (WirelessChannel channel : WirelessRedstone.getStorageManager().getChannels()) {
+            Map<String, List<String>> chunks = channelChunks.getOrDefault(channel.getName(), Map.of());
+
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("name", channel.getName());
+            map.put("id", channel.getId());
+            map.put("owners", new ArrayList<>(channel.getOwners()));
+            map.put("locked", channel.isLocked());
+            map.put("active", channel.isActive());
+            map.put("chunks", chunks);
+            channels.add(map);
+        }
+
+        YamlConfiguration config = new YamlConfiguration();
+        config.set("channels", channels);
+        String payload = config.saveToString();
+
+        lastMetaWrite = writer.submit(() -> {
+            long start = System.nanoTime();
+            Path file = metaFile.toPath();
+            Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+            Files.write(temporaryFile, payload.getBytes(StandardCharsets.UTF_8));
+            try {
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            WirelessRedstone.getInstrumentation().getStorageFlush().observeNanos(System.nanoTime() - start);
+            return null;
+        });
+    }
+
+    private record ChunkId(String world, int x, int z) {
+
+        static ChunkId of(Chunk chunk) {
+            return new ChunkId(chunk.getWorld().getName(), chunk.getX(), chunk.getZ());
+        }
+
+        static ChunkId of(WirelessPoint point) {
+            return new ChunkId(point.getWorld(), point.getChunkX(), point.getChunkZ());
+        }
+
+        static ChunkId parse(String world, String coordinates) {
+            String[] parts = coordinates.split(",");
+            if (parts.length != 2) {
+                return null;
+            }
+
+            try {
+                return new ChunkId(world, Integer.parseInt(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+            } catch (NumberFormatException ex) {
+                return null;
+            }
+        }
+
+        @Override
+        public String toString() {
+            return world + " " + x + "," + z;
+        }
+    }
+}
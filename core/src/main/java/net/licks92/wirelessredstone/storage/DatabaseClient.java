@@ -28,13 +28,15 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 
 public class DatabaseClient extends SQLiteOpenHelper {
     private static final String DB_NAME = "WirelessRedstoneDatabase";
-    private static final int DB_VERSION = 1;
+    private static final int DB_VERSION = 2;
 
     private static final String TB_CHANNELS = "channel";
     private static final String TB_OWNERS = "owner";
@@ -46,6 +48,9 @@ public class DatabaseClient extends SQLiteOpenHelper {
     private static final String TB_SWITCH = "switch";
     private static final String TB_CLOCKS = "clock";
 
+    private static final String CHANNEL_SELECTION = "[channel_name]=?";
+    private static final String LOCATION_SELECTION = "[x]=? AND [y]=? AND [z]=? AND [world]=?";
+
     private static volatile DatabaseClient instance;
     private final SQLiteDatabase db;
 
@@ -74,11 +79,9 @@ public class DatabaseClient extends SQLiteOpenHelper {
 
     @Override
     protected void onCreate(SQLiteDatabase db) {
-        try (BufferedReader br = new BufferedReader(new InputStreamReader(
-                Objects.requireNonNull(WirelessRedstone.getInstance().getResource("database/Database_1.sql")),
-                StandardCharsets.UTF_8))) {
-            String sql = br.lines().collect(Collectors.joining(System.lineSeparator()));;
-            db.execSql(sql);
+        try {
+            executeScript(db, "database/Database_1.sql");
+            executeScript(db, "database/Database_2.sql");
         } catch (IOException ex) {
             WirelessRedstone.getWRLogger().info("There was an error while initializing the database.");
 
@@ -98,6 +101,14 @@ public class DatabaseClient extends SQLiteOpenHelper {
                     throw new RuntimeException("There was an error while performing database update 1.");
                 }
             }
+            if (oldVersion <= 1) {
+                try {
+                    executeScript(db, "database/Database_2.sql");
+                } catch (IOException ex) {
+                    ex.printStackTrace();
+                    throw new RuntimeException("There was an error while performing database update 2.");
+                }
+            }
         } else {
             throw new RuntimeException("There was an error while backing up the database. The channels folder couldn't be accessed.");
         }
@@ -111,156 +122,150 @@ public class DatabaseClient extends SQLiteOpenHelper {
         return db;
     }
 
+    /**
+     * Load all channels. Every table is read once, ordered by channel name,
+     * so the rows of one channel arrive together and are merged into the channel in one pass.
+     */
     protected Collection<WirelessChannel> getAllChannels() {
-        Collection<WirelessChannel> channels = new ArrayList<>();
+        Map<String, WirelessChannel> channels = new LinkedHashMap<>();
 
         try {
-            ResultSet resultSet = getDatabase().query(TB_CHANNELS, null, null, null);
+            ResultSet resultSet = queryAll(TB_CHANNELS, null, "[name]");
             while (resultSet.next()) {
-                channels.add(new WirelessChannel(resultSet.getString("name"), resultSet.getBoolean("locked")));
+                WirelessChannel channel = new WirelessChannel(resultSet.getString("name"), resultSet.getBoolean("locked"));
+                channels.put(channel.getName(), channel);
             }
 
             resultSet.close();
 
-            Iterator<WirelessChannel> iterator = channels.iterator();
-            while (iterator.hasNext()) {
-                WirelessChannel channel = iterator.next();
-
-                resultSet = getDatabase().query(TB_OWNERS, new String[]{"user"}, "[channel_name]='" + channel.getName() + "'", null, null);
-                while (resultSet.next()) {
+            resultSet = queryAll(TB_OWNERS, new String[]{"channel_name", "user"}, "[channel_name]");
+            WirelessChannel channel = null;
+            while (resultSet.next()) {
+                channel = findChannel(channels, channel, resultSet.getString("channel_name"));
+                if (channel != null) {
                     channel.addOwner(resultSet.getString("user"));
                 }
+            }
 
-                resultSet.close();
-
-                resultSet = getDatabase().query(TB_TRANSMITTERS, "[channel_name]='" + channel.getName() + "'", null, null);
-                while (resultSet.next()) {
-                    WirelessPoint point = new WirelessTransmitter(
-                            resultSet.getInt("x"),
-                            resultSet.getInt("y"),
-                            resultSet.getInt("z"),
-                            resultSet.getString("world"),
-                            resultSet.getInt("is_wallsign") != 0,
-                            BlockFace.valueOf(resultSet.getString("direction")),
-                            resultSet.getString("owner")
-                    );
-                    channel.addWirelessPoint(point);
-                    WirelessRedstone.getWRLogger().debug("Transmitter found: " + point);
-                }
+            resultSet.close();
 
-                resultSet.close();
-
-                resultSet = getDatabase().query(TB_RECEIVERS, "[channel_name]='" + channel.getName() + "'", null, null);
-                while (resultSet.next()) {
-                    WirelessPoint point = new WirelessReceiver(
-                            resultSet.getInt("x"),
-                            resultSet.getInt("y"),
-                            resultSet.getInt("z"),
-                            resultSet.getString("world"),
-                            resultSet.getInt("is_wallsign") != 0,
-                            BlockFace.valueOf(resultSet.getString("direction")),
-                            resultSet.getString("owner")
-                    );
-                    channel.addWirelessPoint(point);
-                    WirelessRedstone.getWRLogger().debug("Receiver found: " + point);
-                }
+            loadPoints(channels, TB_TRANSMITTERS, "Transmitter", row -> new WirelessTransmitter(
+                    row.getInt("x"),
+                    row.getInt("y"),
+                    row.getInt("z"),
+                    row.getString("world"),
+                    row.getInt("is_wallsign") != 0,
+                    BlockFace.valueOf(row.getString("direction")),
+                    row.getString("owner")
+            ));
+            loadPoints(channels, TB_RECEIVERS, "Receiver", row -> new WirelessReceiver(
+                    row.getInt("x"),
+                    row.getInt("y"),
+                    row.getInt("z"),
+                    row.getString("world"),
+                    row.getInt("is_wallsign") != 0,
+                    BlockFace.valueOf(row.getString("direction")),
+                    row.getString("owner")
+            ));
+            loadPoints(channels, TB_SCREENS, "Screen", row -> new WirelessScreen(
+                    row.getInt("x"),
+                    row.getInt("y"),
+                    row.getInt("z"),
+                    row.getString("world"),
+                    row.getInt("is_wallsign") != 0,
+                    BlockFace.valueOf(row.getString("direction")),
+                    row.getString("owner")
+            ));
+            loadPoints(channels, TB_INVERTERS, "Inverter", row -> new WirelessReceiverInverter(
+                    row.getInt("x"),
+                    row.getInt("y"),
+                    row.getInt("z"),
+                    row.getString("world"),
+                    row.getInt("is_wallsign") != 0,
+                    BlockFace.valueOf(row.getString("direction")),
+                    row.getString("owner")
+            ));
+            loadPoints(channels, TB_DELAYERS, "Delayer", row -> new WirelessReceiverDelayer(
+                    row.getInt("x"),
+                    row.getInt("y"),
+                    row.getInt("z"),
+                    row.getString("world"),
+                    row.getInt("is_wallsign") != 0,
+                    BlockFace.valueOf(row.getString("direction")),
+                    row.getString("owner"),
+                    row.getInt("delay")
+            ));
+            loadPoints(channels, TB_SWITCH, "Switch", row -> new WirelessReceiverSwitch(
+                    row.getInt("x"),
+                    row.getInt("y"),
+                    row.getInt("z"),
+                    row.getString("world"),
+                    row.getInt("is_wallsign") != 0,
+                    BlockFace.valueOf(row.getString("direction")),
+                    row.getString("owner"),
+                    row.getBoolean("powered")
+            ));
+            loadPoints(channels, TB_CLOCKS, "Clock", row -> new WirelessReceiverClock(
+                    row.getInt("x"),
+                    row.getInt("y"),
+                    row.getInt("z"),
+                    row.getString("world"),
+                    row.getInt("is_wallsign") != 0,
+                    BlockFace.valueOf(row.getString("direction")),
+                    row.getString("owner"),
+                    row.getInt("delay")
+            ));
+        } catch (SQLException ex) {
+            WirelessRedstone.getWRLogger().severe("Couldn't retrieve channels from the database!");
 
-                resultSet.close();
-
-                resultSet = getDatabase().query(TB_SCREENS, "[channel_name]='" + channel.getName() + "'", null, null);
-                while (resultSet.next()) {
-                    WirelessPoint point = new WirelessScreen(
-                            resultSet.getInt("x"),
-                            resultSet.getInt("y"),
-                            resultSet.getInt("z"),
-                            resultSet.getString("world"),
-                            resultSet.getInt("is_wallsign") != 0,
-                            BlockFace.valueOf(resultSet.getString("direction")),
-                            resultSet.getString("owner")
-                    );
-                    channel.addWirelessPoint(point);
-                    WirelessRedstone.getWRLogger().debug("Screen found: " + point);
-                }
+            ex.printStackTrace();
+        }
+        return new ArrayList<>(channels.values());
+    }
 
-                resultSet.close();
-
-                resultSet = getDatabase().query(TB_INVERTERS, "[channel_name]='" + channel.getName() + "'", null, null);
-                while (resultSet.next()) {
-                    WirelessPoint point = new WirelessReceiverInverter(
-                            resultSet.getInt("x"),
-                            resultSet.getInt("y"),
-                            resultSet.getInt("z"),
-                            resultSet.getString("world"),
-                            resultSet.getInt("is_wallsign") != 0,
-                            BlockFace.valueOf(resultSet.getString("direction")),
-                            resultSet.getString("owner")
-                    );
-                    channel.addWirelessPoint(point);
-                    WirelessRedstone.getWRLogger().debug("Inverter found: " + point);
-                }
+    private void loadPoints(Map<String, WirelessChannel> channels, String table, String type, PointReader reader) throws SQLException {
+        ResultSet resultSet = queryAll(table, null, "[channel_name]");
+        WirelessChannel channel = null;
 
-                resultSet.close();
-
-                resultSet = getDatabase().query(TB_DELAYERS, "[channel_name]='" + channel.getName() + "'", null, null);
-                while (resultSet.next()) {
-                    WirelessPoint point = new WirelessReceiverDelayer(
-                            resultSet.getInt("x"),
-                            resultSet.getInt("y"),
-                            resultSet.getInt("z"),
-                            resultSet.getString("world"),
-                            resultSet.getInt("is_wallsign") != 0,
-                            BlockFace.valueOf(resultSet.getString("direction")),
-                            resultSet.getString("owner"),
-                            resultSet.getInt("delay")
-                    );
-                    channel.addWirelessPoint(point);
-                    WirelessRedstone.getWRLogger().debug("Delayer found: " + point);
+        try {
+            while (resultSet.next()) {
+                channel = findChannel(channels, channel, resultSet.getString("channel_name"));
+                if (channel == null) {
+                    continue;
                 }
 
-                resultSet.close();
-
-                resultSet = getDatabase().query(TB_SWITCH, "[channel_name]='" + channel.getName() + "'", null, null);
-                while (resultSet.next()) {
-                    WirelessPoint point = new WirelessReceiverSwitch(
-                            resultSet.getInt("x"),
-                            resultSet.getInt("y"),
-                            resultSet.getInt("z"),
-                            resultSet.getString("world"),
-                            resultSet.getInt("is_wallsign") != 0,
-                            BlockFace.valueOf(resultSet.getString("direction")),
-                            resultSet.getString("owner"),
-                            resultSet.getBoolean("powered")
-                    );
-                    channel.addWirelessPoint(point);
-                    WirelessRedstone.getWRLogger().debug("Switch found: " + point);
-                }
+                WirelessPoint point = reader.read(resultSet);
+                channel.addWirelessPoint(point);
+                WirelessRedstone.getWRLogger().debug(type + " found: " + point);
+            }
+        } finally {
+            resultSet.close();
+        }
+    }
 
-                resultSet.close();
-
-                resultSet = getDatabase().query(TB_CLOCKS, "[channel_name]='" + channel.getName() + "'", null, null);
-                while (resultSet.next()) {
-                    WirelessPoint point = new WirelessReceiverClock(
-                            resultSet.getInt("x"),
-                            resultSet.getInt("y"),
-                            resultSet.getInt("z"),
-                            resultSet.getString("world"),
-                            resultSet.getInt("is_wallsign") != 0,
-                            BlockFace.valueOf(resultSet.getString("direction")),
-                            resultSet.getString("owner"),
-                            resultSet.getInt("delay")
-                    );
-                    channel.addWirelessPoint(point);
-                    WirelessRedstone.getWRLogger().debug("Clock found: " + point);
-                }
+    private ResultSet queryAll(String table, String[] columns, String order) throws SQLException {
+        ResultSet resultSet = getDatabase().query(table, columns, null, null, order, null);
+        if (resultSet == null) {
+            throw new SQLException("Couldn't query table " + table);
+        }
 
-                resultSet.close();
-            }
-        } catch (SQLException ex) {
-            WirelessRedstone.getWRLogger().severe("Couldn't retrieve channels from the database!");
+        return resultSet;
+    }
 
-            ex.printStackTrace();
+    /**
+     * Rows are ordered by channel name, so the previous row's channel is usually the right one.
+     */
+    private WirelessChannel findChannel(Map<String, WirelessChannel> channels, WirelessChannel previous, String channelName) {
+        if (previous != null && previous.getName().equals(channelName)) {
+            return previous;
         }
-        return channels;
+
+        WirelessChannel channel = channels.get(channelName);
+        if (channel == null) {
+            WirelessRedstone.getWRLogger().debug("Row references unknown channel " + channelName + ". Skipping it.");
+        }
+
+        return channel;
     }
 
     protected void recreateDatabase() {
@@ -288,7 +293,7 @@ public class DatabaseClient extends SQLiteOpenHelper {
         ContentValues values = new ContentValues();
         try {
             if (!isChannelInDb(channel.getName())) {
-                values.put("name", escape(channel.getName()));
+                values.put("name", channel.getName());
                 values.put("locked", channel.isLocked());
                 getDatabase().insert(TB_CHANNELS, values);
                 WirelessRedstone.getWRLogger().debug("Channel created in database. " + channel.getName());
@@ -301,59 +306,64 @@ public class DatabaseClient extends SQLiteOpenHelper {
             }
         }
 
-        String table;
-        values = new ContentValues();
-        values.put("x", point.getX());
-        values.put("y", point.getY());
-        values.put("z", point.getZ());
-        values.put("world", point.getWorld());
-        values.put("channel_name", channel.getName());
-        values.put("direction", point.getDirection().toString());
-        values.put("owner", point.getOwner());
-        values.put("is_wallsign", point.isWallSign());
-
-        if (point instanceof WirelessTransmitter) {
-            table = TB_TRANSMITTERS;
-        } else if (point instanceof WirelessScreen) {
-            table = TB_SCREENS;
-        } else if (point instanceof WirelessReceiver) {
-            if (point instanceof WirelessReceiverInverter) {
-                table = TB_INVERTERS;
-            } else if (point instanceof WirelessReceiverDelayer) {
-                table = TB_DELAYERS;
-                values.put("delay", ((WirelessReceiverDelayer) point).getDelay());
-            } else if (point instanceof WirelessReceiverSwitch) {
-                table = TB_SWITCH;
-                values.put("powered", ((WirelessReceiverSwitch) point).isActive());
-            } else if (point instanceof WirelessReceiverClock) {
-                table = TB_CLOCKS;
-                values.put("delay", ((WirelessReceiverClock) point).getDelay());
-            } else {
-                table = TB_RECEIVERS;
-            }
-        } else {
+        String table = getTable(point);
+        if (table == null) {
             WirelessRedstone.getWRLogger().debug("Can't add wirelesspoint to database. Couldn't find what type the wirelesspoint is.");
             WirelessRedstone.getWRLogger().debug(point.toString());
             return false;
         }
 
+        values = getValues(channel.getName(), point);
         getDatabase().insert(table, values);
         WirelessRedstone.getWRLogger().debug("Placed new WirelessPoint in the database");
 
         return true;
     }
 
-    protected void updateSwitch(WirelessReceiverSwitch receiver) {
+    protected void updateSwitch(String world, int x, int y, int z, boolean powered) {
         ContentValues values = new ContentValues();
-        values.put("powered", receiver.isActive());
-        getDatabase().update(TB_SWITCH, values,
-                "[x]=" + receiver.getX() + " AND [y]=" + receiver.getY() + " AND [z]=" + receiver.getZ() + " AND [world]='" + receiver.getWorld() + "'");
+        values.put("powered", powered);
+        getDatabase().update(TB_SWITCH, values, LOCATION_SELECTION, new Object[]{x, y, z, world});
+    }
+
+    protected void removeWirelessPoint(WirelessPoint point) {
+        String table = getTable(point);
+        if (table == null) {
+            WirelessRedstone.getWRLogger().debug("Can't remove wirelesspoint from database. Couldn't find what type the wirelesspoint is.");
+            return;
+        }
+
+        getDatabase().delete(table, LOCATION_SELECTION, locationArgs(point));
+        WirelessRedstone.getWRLogger().debug("Removed WirelessPoint from the database");
+    }
+
+    protected void updateChannel(WirelessChannel channel) {
+        ContentValues values = new ContentValues();
+        values.put("locked", channel.isLocked());
+        getDatabase().update(TB_CHANNELS, values, "[name]=?", new Object[]{channel.getName()});
+
+        getDatabase().delete(TB_OWNERS, CHANNEL_SELECTION, new Object[]{channel.getName()});
+        for (String owner : channel.getOwners()) {
+            values = new ContentValues();
+            values.put("channel_name", channel.getName());
+            values.put("user", owner);
+            getDatabase().insert(TB_OWNERS, values);
+        }
+    }
+
+    protected void removeChannel(String channelName) {
+        for (String table : new String[]{TB_OWNERS, TB_TRANSMITTERS, TB_RECEIVERS, TB_SCREENS, TB_INVERTERS, TB_DELAYERS, TB_SWITCH, TB_CLOCKS}) {
+            getDatabase().delete(table, CHANNEL_SELECTION, new Object[]{channelName});
+        }
+
+        getDatabase().delete(TB_CHANNELS, "[name]=?", new Object[]{channelName});
+        WirelessRedstone.getWRLogger().debug("Channel removed from database. " + channelName);
     }
 
     protected boolean isChannelInDb(String channelName) throws SQLException {
         boolean exists = false;
 
-        ResultSet resultSet = getDatabase().query(TB_CHANNELS, "[name]='" + escape(channelName) + "'", null, null);
+        ResultSet resultSet = getDatabase().query(TB_CHANNELS, "[name]=?", new Object[]{channelName}, null, null);
         while (resultSet.next() && !exists) {
             exists = true;
         }
@@ -365,33 +375,15 @@ public class DatabaseClient extends SQLiteOpenHelper {
 
     protected boolean isWirelessPointInDb(WirelessPoint point) throws SQLException {
         boolean exists = false;
-        String table;
+        String table = getTable(point);
 
-        if (point instanceof WirelessTransmitter) {
-            table = TB_TRANSMITTERS;
-        } else if (point instanceof WirelessScreen) {
-            table = TB_SCREENS;
-        } else if (point instanceof WirelessReceiver) {
-            if (point instanceof WirelessReceiverInverter) {
-                table = TB_INVERTERS;
-            } else if (point instanceof WirelessReceiverDelayer) {
-                table = TB_DELAYERS;
-            } else if (point instanceof WirelessReceiverSwitch) {
-                table = TB_SWITCH;
-            } else if (point instanceof WirelessReceiverClock) {
-                table = TB_CLOCKS;
-            } else {
-                table = TB_RECEIVERS;
-            }
-        } else {
+        if (table == null) {
             WirelessRedstone.getWRLogger().debug("Can't find wirelesspoint in database. Couldn't find what type the wirelesspoint is.");
             WirelessRedstone.getWRLogger().debug(point.toString());
             return false;
         }
 
-        ResultSet resultSet = getDatabase().query(table,
-                "[x]=" + point.getX() + " AND [y]=" + point.getY() + " AND [z]=" + point.getZ() + " AND [world]='" + point.getWorld() + "'",
-                null, null);
+        ResultSet resultSet = getDatabase().query(table, LOCATION_SELECTION, locationArgs(point), null, null);
         while (resultSet.next() && !exists) {
             exists = true;
         }
@@ -401,6 +393,52 @@ public class DatabaseClient extends SQLiteOpenHelper {
         return exists;
     }
 
+    private ContentValues getValues(String channelName, WirelessPoint point) {
+        ContentValues values = new ContentValues();
+        values.put("x", point.getX());
+        values.put("y", point.getY());
+        values.put("z", point.getZ());
+        values.put("world", point.getWorld());
+        values.put("channel_name", channelName);
+        values.put("direction", point.getDirection().toString());
+        values.put("owner", point.getOwner());
+        values.put("is_wallsign", point.isWallSign());
+
+        if (point instanceof WirelessReceiverDelayer) {
+            values.put("delay", ((WirelessReceiverDelayer) point).getDelay());
+        } else if (point instanceof WirelessReceiverSwitch) {
+            values.put("powered", ((WirelessReceiverSwitch) point).isActive());
+        } else if (point instanceof WirelessReceiverClock) {
+            values.put("delay", ((WirelessReceiverClock) point).getDelay());
+        }
+
+        return values;
+    }
+
+    private Object[] locationArgs(WirelessPoint point) {
+        return new Object[]{point.getX(), point.getY(), point.getZ(), point.getWorld()};
+    }
+
+    private String getTable(WirelessPoint point) {
+        if (point instanceof WirelessTransmitter) {
+            return TB_TRANSMITTERS;
+        } else if (point instanceof WirelessScreen) {
+            return TB_SCREENS;
+        } else if (point instanceof WirelessReceiverInverter) {
+            return TB_INVERTERS;
+        } else if (point instanceof WirelessReceiverDelayer) {
+            return TB_DELAYERS;
+        } else if (point instanceof WirelessReceiverSwitch) {
+            return TB_SWITCH;
+        } else if (point instanceof WirelessReceiverClock) {
+            return TB_CLOCKS;
+        } else if (point instanceof WirelessReceiver) {
+            return TB_RECEIVERS;
+        }
+
+        return null;
+    }
+
     private void performUpdate1(SQLiteDatabase db) throws SQLException, IOException {
         Collection<WirelessChannel> channels = new ArrayList<>();
         Collection<String> channelNames = new ArrayList<>();
@@ -596,6 +634,7 @@ public class DatabaseClient extends SQLiteOpenHelper {
 
         onCreate(db);
 
+        Map<String, List<ContentValues>> rows = new LinkedHashMap<>();
         progress = 0;
         channelIteration = 0;
         for (WirelessChannel channel : channels) {
@@ -608,112 +647,33 @@ public class DatabaseClient extends SQLiteOpenHelper {
             ContentValues values = new ContentValues();
             values.put("name", channel.getName());
             values.put("locked", channel.isLocked());
-            db.insert(TB_CHANNELS, values);
+            rows.computeIfAbsent(TB_CHANNELS, table -> new ArrayList<>()).add(values);
             WirelessRedstone.getWRLogger().debug("Inserted channel " + channel.getName());
 
             for (String owner : channel.getOwners()) {
                 values = new ContentValues();
                 values.put("channel_name", channel.getName());
                 values.put("user", owner);
-                db.insert(TB_OWNERS, values);
+                rows.computeIfAbsent(TB_OWNERS, table -> new ArrayList<>()).add(values);
                 WirelessRedstone.getWRLogger().debug("Inserted owner " + owner + "|" + channel.getName());
             }
 
-            for (WirelessTransmitter point : channel.getTransmitters()) {
-                values = new ContentValues();
-                values.put("x", point.getX());
-                values.put("y", point.getY());
-                values.put("z", point.getZ());
-                values.put("world", point.getWorld());
-                values.put("channel_name", channel.getName());
-                values.put("direction", point.getDirection().toString());
-                values.put("owner", point.getOwner());
-                values.put("is_wallsign", point.isWallSign());
-                db.insert(TB_TRANSMITTERS, values);
-                WirelessRedstone.getWRLogger().debug("Inserted transmitter " + point.toString() + "|" + channel.getName());
+            for (WirelessPoint point : channel.getSigns()) {
+                rows.computeIfAbsent(getTable(point), table -> new ArrayList<>()).add(getValues(channel.getName(), point));
+                WirelessRedstone.getWRLogger().debug("Inserted " + point.toString() + "|" + channel.getName());
             }
+            channelIteration++;
+        }
 
-            for (WirelessScreen point : channel.getScreens()) {
-                values = new ContentValues();
-                values.put("x", point.getX());
-                values.put("y", point.getY());
-                values.put("z", point.getZ());
-                values.put("world", point.getWorld());
-                values.put("channel_name", channel.getName());
-                values.put("direction", point.getDirection().toString());
-                values.put("owner", point.getOwner());
-                values.put("is_wallsign", point.isWallSign());
-                db.insert(TB_SCREENS, values);
-                WirelessRedstone.getWRLogger().debug("Inserted screen " + point.toString() + "|" + channel.getName());
-            }
+        rows.forEach(db::insertBatch);
+    }
 
-            for (WirelessReceiver point : channel.getReceivers()) {
-                if (point instanceof WirelessReceiverInverter) {
-                    values = new ContentValues();
-                    values.put("x", point.getX());
-                    values.put("y", point.getY());
-                    values.put("z", point.getZ());
-                    values.put("world", point.getWorld());
-                    values.put("channel_name", channel.getName());
-                    values.put("direction", point.getDirection().toString());
-                    values.put("owner", point.getOwner());
-                    values.put("is_wallsign", point.isWallSign());
-                    db.insert(TB_INVERTERS, values);
-                    WirelessRedstone.getWRLogger().debug("Inserted inverter " + point.toString() + "|" + channel.getName());
-                } else if (point instanceof WirelessReceiverDelayer) {
-                    values = new ContentValues();
-                    values.put("x", point.getX());
-                    values.put("y", point.getY());
-                    values.put("z", point.getZ());
-                    values.put("world", point.getWorld());
-                    values.put("channel_name", channel.getName());
-                    values.put("direction", point.getDirection().toString());
-                    values.put("owner", point.getOwner());
-                    values.put("is_wallsign", point.isWallSign());
-                    values.put("delay", ((WirelessReceiverDelayer) point).getDelay());
-                    db.insert(TB_DELAYERS, values);
-                    WirelessRedstone.getWRLogger().debug("Inserted delayer " + point.toString() + "|" + channel.getName());
-                } else if (point instanceof WirelessReceiverSwitch) {
-                    values = new ContentValues();
-                    values.put("x", point.getX());
-                    values.put("y", point.getY());
-                    values.put("z", point.getZ());
-                    values.put("world", point.getWorld());
-                    values.put("channel_name", channel.getName());
-                    values.put("direction", point.getDirection().toString());
-                    values.put("owner", point.getOwner());
-                    values.put("is_wallsign", point.isWallSign());
-                    values.put("powered", ((WirelessReceiverSwitch) point).isActive());
-                    db.insert(TB_SWITCH, values);
-                    WirelessRedstone.getWRLogger().debug("Inserted switch " + point.toString() + "|" + channel.getName());
-                } else if (point instanceof WirelessReceiverClock) {
-                    values = new ContentValues();
-                    values.put("x", point.getX());
-                    values.put("y", point.getY());
-                    values.put("z", point.getZ());
-                    values.put("world", point.getWorld());
-                    values.put("channel_name", channel.getName());
-                    values.put("direction", point.getDirection().toString());
-                    values.put("owner", point.getOwner());
-                    values.put("is_wallsign", point.isWallSign());
-                    values.put("delay", ((WirelessReceiverClock) point).getDelay());
-                    db.insert(TB_CLOCKS, values);
-                    WirelessRedstone.getWRLogger().debug("Inserted clock " + point.toString() + "|" + channel.getName());
-                } else {
-                    values = new ContentValues();
-                    values.put("x", point.getX());
-                    values.put("y", point.getY());
-                    values.put("z", point.getZ());
-                    values.put("world", point.getWorld());
-                    values.put("channel_name", channel.getName());
-                    values.put("direction", point.getDirection().toString());
-                    values.put("owner", point.getOwner());
-                    values.put("is_wallsign", point.isWallSign());
-                    db.insert(TB_RECEIVERS, values);
-                    WirelessRedstone.getWRLogger().debug("Inserted receiver " + point.toString() + "|" + channel.getName());
-                }
-            }
-            channelIteration++;
+    private void executeScript(SQLiteDatabase db, String resource) throws IOException {
+        try (BufferedReader br = new BufferedReader(new InputStreamReader(
+                Objects.requireNonNull(WirelessRedstone.getInstance().getResource(resource)),
+                StandardCharsets.UTF_8))) {
+            String sql = br.lines().collect(Collectors.joining(System.lineSeparator()));
+            db.execSql(sql);
         }
     }
 
@@ -753,18 +713,8 @@ public class DatabaseClient extends SQLiteOpenHelper {
         }
     }
 
-    private String escape(String str) {
-        if (str == null || str.length() == 0) {
-            throw new IllegalArgumentException();
-        }
-
-        str = str.replace("\\", "\\\\");
-        str = str.replace("'", "\\'");
-        str = str.replace("\0", "\\0");
-        str = str.replace("\n", "\\n");
-        str = str.replace("\r", "\\r");
-        str = str.replace("\"", "\\\"");
-        str = str.replace("\\x1a", "\\Z");
-        return str;
+    @FunctionalInterface
+    private interface PointReader {
+        WirelessPoint read(ResultSet row) throws SQLException;
     }
-}
\ No newline at end of file
+}
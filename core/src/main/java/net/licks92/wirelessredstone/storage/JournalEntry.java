@@ -0,0 +1,177 @@
+package net.licks92.wirelessredstone.storage;
+
+import net.licks92.wirelessredstone.signs.WirelessChannel;
+import net.licks92.wirelessredstone.signs.WirelessPoint;
+import net.licks92.wirelessredstone.signs.WirelessReceiverSwitch;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * One mutation of the primary store, waiting in the {@link WriteBehindJournal}.<br>
+ * The payload is the YAML representation of the subject, or the position and state for a switch update.
+ * It is created right away on the thread that makes the change, so the I/O thread never reads a channel
+ * or point the server thread is still changing.
+ * The payload is what gets appended to the journal log, so entries can be replayed after a crash.
+ */
+class JournalEntry {
+
+    private static final String POINT_KEY = "point";
+    private static final String LOCKED_KEY = "locked";
+
+    private final Type type;
+    private final String channelName;
+    private final String payload;
+    private YamlConfiguration loaded;
+
+    private JournalEntry(Type type, String channelName, String payload) {
+        this.type = type;
+        this.channelName = channelName;
+        this.payload = payload;
+    }
+
+    static JournalEntry writeChannel(String channelName, WirelessChannel channel) {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set(channelName, channel);
+        return new JournalEntry(Type.WRITE_CHANNEL, channelName, config.saveToString());
+    }
+
+    static JournalEntry removeChannel(String channelName) {
+        return new JournalEntry(Type.REMOVE_CHANNEL, channelName, "");
+    }
+
+    static JournalEntry insertPoint(WirelessChannel channel, WirelessPoint point) {
+        return new JournalEntry(Type.INSERT_POINT, channel.getName(), serializePoint(point, channel.isLocked()));
+    }
+
+    static JournalEntry removePoint(String channelName, WirelessPoint point) {
+        return new JournalEntry(Type.REMOVE_POINT, channelName, serializePoint(point, false));
+    }
+
+    static JournalEntry updateSwitch(String channelName, WirelessReceiverSwitch receiver) {
+        // Switches are written on every toggle, so keep them out of the YAML serializer
+        String payload = receiver.getX() + "," + receiver.getY() + "," + receiver.getZ() + ","
+                + receiver.isActive() + "," + receiver.getWorld();
+        return new JournalEntry(Type.UPDATE_SWITCH, channelName, payload);
+    }
+
+    private static String serializePoint(WirelessPoint point, boolean locked) {
+        YamlConfiguration config = new YamlConfiguration();
+        config.set(POINT_KEY, point);
+        config.set(LOCKED_KEY, locked);
+        return config.saveToString();
+    }
+
+    Type getType() {
+        return type;
+    }
+
+    String getChannelName() {
+        return channelName;
+    }
+
+    /**
+     * @return YAML payload
+     */
+    String getPayload() {
+        return payload;
+    }
+
+    /**
+     * @return Copy of the channel, rebuilt from the payload
+     * @throws InvalidConfigurationException If the payload doesn't contain a channel
+     */
+    WirelessChannel getChannel() throws InvalidConfigurationException {
+        Object channel = load().get(channelName);
+        if (!(channel instanceof WirelessChannel)) {
+            throw new InvalidConfigurationException("Journal entry for " + channelName + " doesn't contain a channel");
+        }
+
+        return (WirelessChannel) channel;
+    }
+
+    /**
+     * @return Copy of the point, rebuilt from the payload
+     * @throws InvalidConfigurationException If the payload doesn't contain a WirelessPoint
+     */
+    WirelessPoint getPoint() throws InvalidConfigurationException {
+        Object point = load().get(POINT_KEY);
+        if (!(point instanceof WirelessPoint)) {
+            throw new InvalidConfigurationException("Journal entry for " + channelName + " doesn't contain a WirelessPoint");
+        }
+
+        return (WirelessPoint) point;
+    }
+
+    /**
+     * @return New state of the switch receiver
+     * @throws InvalidConfigurationException If the payload isn't a switch update
+     */
+    SwitchState getSwitchState() throws InvalidConfigurationException {
+        String[] parts = payload.split(",", 5);
+        if (type != Type.UPDATE_SWITCH || parts.length != 5) {
+            throw new InvalidConfigurationException("Journal entry for " + channelName + " isn't a switch update");
+        }
+
+        try {
+            return new SwitchState(parts[4], Integer.parseInt(parts[0]), Integer.parseInt(parts[1]),
+                    Integer.parseInt(parts[2]), Boolean.parseBoolean(parts[3]));
+        } catch (NumberFormatException ex) {
+            throw new InvalidConfigurationException("Journal entry for " + channelName + " isn't a switch update");
+        }
+    }
+
+    boolean isChannelLocked() throws InvalidConfigurationException {
+        return load().getBoolean(LOCKED_KEY, false);
+    }
+
+    /**
+     * @return Single line representation for the journal log
+     */
+    String encode() {
+        Base64.Encoder encoder = Base64.getEncoder();
+        return type.name() + "\t"
+                + encoder.encodeToString(channelName.getBytes(StandardCharsets.UTF_8)) + "\t"
+                + encoder.encodeToString(getPayload().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static JournalEntry decode(String line) {
+        String[] parts = line.split("\t", -1);
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed journal line");
+        }
+
+        Base64.Decoder decoder = Base64.getDecoder();
+        return new JournalEntry(
+                Type.valueOf(parts[0]),
+                new String(decoder.decode(parts[1]), StandardCharsets.UTF_8),
+                new String(decoder.decode(parts[2]), StandardCharsets.UTF_8)
+        );
+    }
+
+    private YamlConfiguration load() throws InvalidConfigurationException {
+        if (loaded == null) {
+            YamlConfiguration config = new YamlConfiguration();
+            config.loadFromString(payload);
+            loaded = config;
+        }
+
+        return loaded;
+    }
+
+    @Override
+    public String toString() {
+        return "JournalEntry{" +
+                "type=" + type +
+                ", channelName='" + channelName + '\'' +
+                '}';
+    }
+
+    record SwitchState(String world, int x, int y, int z, boolean active) {}
+
+    enum Type {
+        WRITE_CHANNEL, REMOVE_CHANNEL, INSERT_POINT, REMOVE_POINT, UPDATE_SWITCH
+    }
+}
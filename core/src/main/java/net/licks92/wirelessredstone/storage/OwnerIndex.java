@@ -0,0 +1,84 @@
+package net.licks92.wirelessredstone.storage;
+
+import net.licks92.wirelessredstone.signs.WirelessChannel;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reverse lookup from an owner to the names of the channels the owner has access to.<br>
+ * The owners of a channel are read again every time the channel is written to the StorageManager,
+ * so owner changes only have to be followed by {@link StorageConfiguration#updateChannel(String, WirelessChannel)}.
+ */
+public class OwnerIndex {
+
+    private final Map<UUID, Set<String>> channelsByOwner = new ConcurrentHashMap<>();
+    private final Map<String, Set<UUID>> indexedOwners = new ConcurrentHashMap<>();
+
+    /**
+     * @param owner UUID of a player
+     * @return Read-only view of the channel names the player owns
+     */
+    public Set<String> getChannels(UUID owner) {
+        Set<String> channels = channelsByOwner.get(owner);
+        return channels == null ? Collections.emptySet() : Collections.unmodifiableSet(channels);
+    }
+
+    /**
+     * @param owner UUID of a player
+     * @return Amount of channels the player owns
+     */
+    public int count(UUID owner) {
+        Set<String> channels = channelsByOwner.get(owner);
+        return channels == null ? 0 : channels.size();
+    }
+
+    /**
+     * Index the current owners of a channel.
+     *
+     * @param channelName Name of the channel
+     * @param channel     WirelessChannel or null if the channel was removed
+     */
+    protected void update(String channelName, WirelessChannel channel) {
+        Set<UUID> previous = channel == null ? indexedOwners.remove(channelName) : indexedOwners.get(channelName);
+        Set<UUID> current = channel == null ? Collections.emptySet() : channel.getOwnerIds();
+
+        if (previous != null) {
+            for (UUID owner : previous) {
+                if (!current.contains(owner)) {
+                    unlink(owner, channelName);
+                }
+            }
+        }
+
+        if (channel == null) {
+            return;
+        }
+
+        for (UUID owner : current) {
+            channelsByOwner.computeIfAbsent(owner, uuid -> ConcurrentHashMap.newKeySet()).add(channelName);
+        }
+        indexedOwners.put(channelName, Set.copyOf(current));
+    }
+
+    protected void rebuild(Collection<WirelessChannel> channels) {
+        clear();
+        channels.forEach(channel -> update(channel.getName(), channel));
+    }
+
+    protected void clear() {
+        channelsByOwner.clear();
+        indexedOwners.clear();
+    }
+
+    private void unlink(UUID owner, String channelName) {
+        channelsByOwner.computeIfPresent(owner, (uuid, channels) -> {
+            channels.remove(channelName);
+            return channels.isEmpty() ? null : channels;
+        });
+    }
+}
@@ -1,27 +1,38 @@
 package net.licks92.wirelessredstone.storage;
 
+import com.tylersuehr.sql.SQLiteDatabase;
 import net.licks92.wirelessredstone.signs.WirelessChannel;
 import net.licks92.wirelessredstone.signs.WirelessPoint;
 import net.licks92.wirelessredstone.signs.WirelessReceiver;
 import net.licks92.wirelessredstone.signs.WirelessReceiverSwitch;
 import net.licks92.wirelessredstone.WirelessRedstone;
+import org.bukkit.configuration.InvalidConfigurationException;
 
 import java.io.File;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 
 public class SQLiteStorage extends StorageConfiguration {
 
+    static final String JOURNAL_NAME = "journal-sqlite.log";
+
     private final File channelFolder;
 
     public SQLiteStorage(String channelFolder) {
         this.channelFolder = new File(WirelessRedstone.getInstance().getDataFolder(), channelFolder);
+        this.journal = new WriteBehindJournal(this.channelFolder, JOURNAL_NAME, this::writeEntries);
+
+        YamlStorage.registerSerialization();
     }
 
     @Override
     public boolean initStorage() {
         try {
             DatabaseClient.init(channelFolder.toString());
+            journal.replay();
+            journal.start();
+
             WirelessRedstone.getStorageManager().updateChannels(false);
 
             StorageType oldStorageType = canConvertFromType();
@@ -39,6 +50,7 @@ public class SQLiteStorage extends StorageConfiguration {
 
     @Override
     public boolean close() {
+        journal.close();
         DatabaseClient.getInstance().getDatabase().close();
         return true;
     }
@@ -51,7 +63,7 @@ public class SQLiteStorage extends StorageConfiguration {
     @Override
     public boolean createChannel(WirelessChannel channel) {
         channel.getSigns()
-                .forEach(wirelessPoint -> DatabaseClient.getInstance().insertWirelessPoint(channel, wirelessPoint));
+                .forEach(wirelessPoint -> journal.append(JournalEntry.insertPoint(channel, wirelessPoint)));
 
         return super.createChannel(channel);
     }
@@ -61,7 +73,7 @@ public class SQLiteStorage extends StorageConfiguration {
         WirelessChannel channel = WirelessRedstone.getStorageManager().getChannel(channelName);
         channel.addWirelessPoint(wirelessPoint);
 
-        DatabaseClient.getInstance().insertWirelessPoint(channel, wirelessPoint);
+        journal.append(JournalEntry.insertPoint(channel, wirelessPoint));
 
         return super.createWirelessPoint(channelName, wirelessPoint);
     }
@@ -71,21 +83,28 @@ public class SQLiteStorage extends StorageConfiguration {
         WirelessChannel channel = WirelessRedstone.getStorageManager().getChannel(channelName);
         channel.removeWirelessPoint(wirelessPoint);
 
+        journal.append(JournalEntry.removePoint(channelName, wirelessPoint));
+
         return super.removeWirelessPoint(channelName, wirelessPoint);
     }
 
     @Override
     public boolean updateChannel(String channelName, WirelessChannel channel) {
+        journal.append(JournalEntry.writeChannel(channelName, channel));
+
         return super.updateChannel(channelName, channel);
     }
 
     @Override
     public boolean removeChannel(String channelName, boolean removeSigns) {
+        journal.append(JournalEntry.removeChannel(channelName));
+
         return super.removeChannel(channelName, removeSigns);
     }
 
     @Override
     public boolean wipeData() {
+        journal.flushAndWait();
         DatabaseClient.getInstance().recreateDatabase();
 
         return super.wipeData();
@@ -96,6 +115,8 @@ public class SQLiteStorage extends StorageConfiguration {
         for (File file : Objects.requireNonNull(channelFolder.listFiles())) {
             if (file.getName().contains(".yml")) {
                 return StorageType.YAML;
+            } else if (file.getName().equals(ChunkStorage.META_NAME)) {
+                return StorageType.CHUNK;
             }
         }
 
@@ -106,8 +127,45 @@ public class SQLiteStorage extends StorageConfiguration {
     public void updateSwitchState(WirelessChannel channel) {
         for (WirelessReceiver receiver : channel.getReceivers()) {
             if (receiver instanceof WirelessReceiverSwitch) {
-                DatabaseClient.getInstance().updateSwitch((WirelessReceiverSwitch) receiver);
+                journal.append(JournalEntry.updateSwitch(channel.getName(), (WirelessReceiverSwitch) receiver));
             }
         }
     }
+
+    /**
+     * Write a batch of the journal in one transaction. A failing command throws and rolls the whole batch back,
+     * so the journal keeps the entries and tries again later.
+     */
+    private void writeEntries(List<JournalEntry> entries) throws InvalidConfigurationException {
+        DatabaseClient client = DatabaseClient.getInstance();
+        SQLiteDatabase database = client.getDatabase();
+
+        database.beginTransaction();
+        try {
+            for (JournalEntry entry : entries) {
+                switch (entry.getType()) {
+                    case INSERT_POINT:
+                        client.insertWirelessPoint(new WirelessChannel(entry.getChannelName(), entry.isChannelLocked()), entry.getPoint());
+                        break;
+                    case REMOVE_POINT:
+                        client.removeWirelessPoint(entry.getPoint());
+                        break;
+                    case UPDATE_SWITCH:
+                        JournalEntry.SwitchState state = entry.getSwitchState();
+                        client.updateSwitch(state.world(), state.x(), state.y(), state.z(), state.active());
+                        break;
+                    case WRITE_CHANNEL:
+                        client.updateChannel(entry.getChannel());
+                        break;
+                    case REMOVE_CHANNEL:
+                        client.removeChannel(entry.getChannelName());
+                        break;
+                }
+            }
+
+            database.setTransactionSuccessful();
+        } finally {
+            database.endTransaction();
+        }
+    }
 }
@@ -4,6 +4,7 @@ import net.licks92.wirelessredstone.WirelessRedstone;
 import net.licks92.wirelessredstone.signs.WirelessChannel;
 import net.licks92.wirelessredstone.signs.WirelessPoint;
 import org.bukkit.Bukkit;
+import org.bukkit.Chunk;
 import org.bukkit.Location;
 import org.bukkit.Material;
 import org.bukkit.World;
@@ -22,6 +23,8 @@ import java.util.zip.ZipOutputStream;
 
 public abstract class StorageConfiguration {
 
+    protected WriteBehindJournal journal;
+
     public abstract boolean initStorage();
 
     public abstract boolean close();
@@ -42,6 +45,7 @@ public abstract class StorageConfiguration {
         //TODO: Investigate if this duplicates the wirelesspoint into the channel
         channel.addWirelessPoint(wirelessPoint);
         WirelessRedstone.getStorageManager().updateList(channelName, channel);
+        WirelessRedstone.getStorageManager().getPointIndex().add(channel, wirelessPoint);
         return true;
     }
 
@@ -49,8 +53,9 @@ public abstract class StorageConfiguration {
         WirelessChannel channel = WirelessRedstone.getStorageManager().getChannel(channelName);
         //TODO: Investigate if this duplicates the wirelesspoint into the channel
         channel.removeWirelessPoint(wirelessPoint);
+        WirelessRedstone.getStorageManager().getPointIndex().remove(wirelessPoint);
 
-        if (channel.isEmpty()) {
+        if (isChannelEmpty(channel)) {
             WirelessRedstone.getStorage().removeChannel(channelName, false);
         } else {
             WirelessRedstone.getStorageManager().updateList(channelName, channel);
@@ -64,9 +69,12 @@ public abstract class StorageConfiguration {
     }
 
     public boolean removeChannel(String channelName, boolean removeSigns) {
-        if (removeSigns) {
-            WirelessChannel channel = WirelessRedstone.getStorageManager().getChannel(channelName);
+        WirelessChannel channel = WirelessRedstone.getStorageManager().getChannel(channelName);
+        if (channel != null) {
+            WirelessRedstone.getStorageManager().getPointIndex().removeAll(channel);
+        }
 
+        if (removeSigns && channel != null) {
             for (WirelessPoint point : channel.getSigns()) {
                 World world = Bukkit.getWorld(point.getWorld());
 
@@ -82,6 +90,22 @@ public abstract class StorageConfiguration {
         return true;
     }
 
+    /**
+     * Called when a chunk is loaded. Only storages that keep data in the chunks need this.
+     *
+     * @param chunk Loaded chunk
+     */
+    public void onChunkLoad(Chunk chunk) {
+    }
+
+    /**
+     * @param channel WirelessChannel
+     * @return Boolean; The channel has no points left, also none that aren't loaded yet
+     */
+    protected boolean isChannelEmpty(WirelessChannel channel) {
+        return channel.isEmpty();
+    }
+
     public int purgeData() {
         int response = 0;
 
@@ -100,7 +124,7 @@ public abstract class StorageConfiguration {
 
         List<WirelessChannel> emptyChannels = new ArrayList<>();
         for (WirelessChannel channel : WirelessRedstone.getStorageManager().getChannels()) {
-            if (channel.isEmpty()) {
+            if (isChannelEmpty(channel)) {
                 emptyChannels.add(channel);
             }
         }
@@ -116,6 +140,8 @@ public abstract class StorageConfiguration {
     public boolean backupData() {
         byte[] buffer = new byte[1024];
 
+        flushJournal();
+
         if (!(new File(WirelessRedstone.getInstance().getDataFolder(), WirelessRedstone.CHANNEL_FOLDER).exists())) {
             return false;
         }
@@ -156,6 +182,25 @@ public abstract class StorageConfiguration {
         return true;
     }
 
+    /**
+     * Write the changes that are left in the journal log of this storage.
+     * Only needed for a storage that isn't initialized, like the old storage during a conversion.
+     */
+    protected void replayJournal() {
+        if (journal != null) {
+            journal.replay();
+        }
+    }
+
+    /**
+     * Block until all queued changes are written to the storage.
+     */
+    public void flushJournal() {
+        if (journal != null) {
+            journal.flushAndWait();
+        }
+    }
+
     public boolean wipeData() {
         WirelessRedstone.getStorageManager().wipeList();
         return true;
@@ -5,20 +5,26 @@ import net.licks92.wirelessredstone.signs.WirelessChannel;
 import net.licks92.wirelessredstone.signs.WirelessPoint;
 import net.licks92.wirelessredstone.WirelessRedstone;
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.scheduler.BukkitTask;
 
 import java.io.File;
 import java.io.FilenameFilter;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class StorageManager {
 
-    private final ConcurrentHashMap<String, WirelessChannel> allChannels = new ConcurrentHashMap<>();
+    private volatile ConcurrentHashMap<String, WirelessChannel> allChannels = new ConcurrentHashMap<>();
+    private volatile WirelessPointIndex pointIndex = new WirelessPointIndex();
+    private volatile OwnerIndex ownerIndex = new OwnerIndex();
     private final BukkitTask refreshingTask;
     private final StorageType storageType;
     private final StorageConfiguration storage;
@@ -38,6 +44,9 @@ public class StorageManager {
             case YAML:
                 storage = new YamlStorage(channelFolder);
                 break;
+            case CHUNK:
+                storage = new ChunkStorage(channelFolder);
+                break;
             default:
                 storage = new YamlStorage(channelFolder);
                 break;
@@ -71,23 +80,93 @@ public class StorageManager {
         }
     }
 
+    /**
+     * Reload all channels from the storage.
+     * The new channels and index are built aside and published at once, readers never see a half loaded state.
+     */
     protected void updateList() {
-        allChannels.clear();
-        Collection<WirelessChannel> channels = getStorage().getAllChannels();
+        Collection<WirelessChannel> channels = null;
+        // The fingerprint doesn't cover points saved in the chunks
+        if (ConfigManager.getConfig().getSnapshotCache() && storageType != StorageType.CHUNK) {
+            channels = ChannelSnapshot.read(getSnapshotFile(), ChannelSnapshot.fingerprint(channelFolderFile, storageType));
+            if (channels != null) {
+                WirelessRedstone.getWRLogger().debug("Loaded " + channels.size() + " channels from the snapshot.");
+            }
+        }
+
+        if (channels == null) {
+            channels = getStorage().getAllChannels();
+        }
+
+        ConcurrentHashMap<String, WirelessChannel> loadedChannels = new ConcurrentHashMap<>(Math.max(16, channels.size() * 2));
+        channels.forEach(channel -> loadedChannels.put(channel.getName(), channel));
 
-        channels.forEach(channel -> allChannels.put(channel.getName(), channel));
+        WirelessPointIndex loadedIndex = new WirelessPointIndex();
+        loadedIndex.rebuild(channels);
+        OwnerIndex loadedOwners = new OwnerIndex();
+        loadedOwners.rebuild(channels);
+
+        synchronized (this) {
+            allChannels = loadedChannels;
+            pointIndex = loadedIndex;
+            ownerIndex = loadedOwners;
+        }
     }
 
-    protected void updateList(String channelName, WirelessChannel channel) {
+    protected synchronized void updateList(String channelName, WirelessChannel channel) {
+        WirelessChannel previous;
         if (channel == null) {
-            allChannels.remove(channelName);
+            previous = allChannels.remove(channelName);
         } else {
-            allChannels.put(channelName, channel);
+            previous = allChannels.put(channelName, channel);
         }
+
+        if (previous != channel) {
+            if (previous != null) {
+                pointIndex.removeAll(previous);
+            }
+            if (channel != null) {
+                pointIndex.addAll(channel);
+            }
+        }
+
+        // Owners can change without replacing the channel
+        ownerIndex.update(channelName, channel);
+    }
+
+    /**
+     * Write all channels to the snapshot cache. Call this after the storage is closed,
+     * so the snapshot matches the final state of the primary store.
+     */
+    public void writeSnapshot() {
+        File snapshotFile = getSnapshotFile();
+        if (!ConfigManager.getConfig().getSnapshotCache() || storageType == StorageType.CHUNK) {
+            if (snapshotFile.exists() && !snapshotFile.delete()) {
+                WirelessRedstone.getWRLogger().debug("Couldn't delete the unused channel snapshot.");
+            }
+            return;
+        }
+
+        try {
+            ChannelSnapshot.write(snapshotFile, new ArrayList<>(getChannels()), ChannelSnapshot.fingerprint(channelFolderFile, storageType));
+        } catch (IOException ex) {
+            WirelessRedstone.getWRLogger().warning("Couldn't write the channel snapshot: " + ex.getMessage());
+            snapshotFile.delete();
+        }
+    }
+
+    private File getSnapshotFile() {
+        return new File(WirelessRedstone.getInstance().getDataFolder(), ChannelSnapshot.FILE_NAME);
     }
 
-    protected void wipeList() {
-        allChannels.clear();
+    protected synchronized void wipeList() {
+        allChannels = new ConcurrentHashMap<>();
+        pointIndex = new WirelessPointIndex();
+        ownerIndex = new OwnerIndex();
+    }
+
+    protected WirelessPointIndex getPointIndex() {
+        return pointIndex;
     }
 
     public StorageConfiguration getStorage() {
@@ -102,6 +181,104 @@ public class StorageManager {
         return allChannels.get(channelName);
     }
 
+    /**
+     * @param owner UUID of a player
+     * @return Names of the channels the player owns
+     */
+    public Set<String> getOwnedChannels(UUID owner) {
+        return ownerIndex.getChannels(owner);
+    }
+
+    /**
+     * @param owner UUID of a player
+     * @return Amount of channels the player owns
+     */
+    public int getOwnedChannelCount(UUID owner) {
+        return ownerIndex.count(owner);
+    }
+
+    /**
+     * Get the registered WirelessPoint at a location.
+     *
+     * @param location Location of the sign
+     * @return WirelessPoint or null if no sign is registered at this location
+     */
+    public WirelessPoint getWirelessPoint(Location location) {
+        WirelessPointIndex.Entry entry = pointIndex.get(location);
+        return entry == null ? null : entry.point();
+    }
+
+    /**
+     * Get the registered WirelessPoint at a block.
+     *
+     * @param world World name
+     * @param x     Block x
+     * @param y     Block y
+     * @param z     Block z
+     * @return WirelessPoint or null if no sign is registered at this block
+     */
+    public WirelessPoint getWirelessPoint(String world, int x, int y, int z) {
+        WirelessPointIndex.Entry entry = pointIndex.get(world, x, y, z);
+        return entry == null ? null : entry.point();
+    }
+
+    /**
+     * Get the WirelessChannel that owns the sign at a block.
+     *
+     * @param world World name
+     * @param x     Block x
+     * @param y     Block y
+     * @param z     Block z
+     * @return WirelessChannel or null if no sign is registered at this block
+     */
+    public WirelessChannel getChannel(String world, int x, int y, int z) {
+        WirelessPointIndex.Entry entry = pointIndex.get(world, x, y, z);
+        return entry == null ? null : entry.channel();
+    }
+
+    /**
+     * Get the WirelessChannel that owns the sign at a location.
+     *
+     * @param location Location of the sign
+     * @return WirelessChannel or null if no sign is registered at this location
+     */
+    public WirelessChannel getChannel(Location location) {
+        WirelessPointIndex.Entry entry = pointIndex.get(location);
+        return entry == null ? null : entry.channel();
+    }
+
+    /**
+     * Cheap pre-check for redstone events; true if the chunk holds or borders a registered transmitter.
+     *
+     * @param world  World name
+     * @param chunkX Chunk x
+     * @param chunkZ Chunk z
+     * @return Boolean; A transmitter can be affected by redstone in this chunk
+     */
+    public boolean isNearTransmitter(String world, int chunkX, int chunkZ) {
+        return pointIndex.isNearTransmitter(world, chunkX, chunkZ);
+    }
+
+    /**
+     * @param world  World name
+     * @param chunkX Chunk x
+     * @param chunkZ Chunk z
+     * @return Boolean; The chunk contains at least one registered sign
+     */
+    public boolean hasSignsInChunk(String world, int chunkX, int chunkZ) {
+        return pointIndex.hasPointsInChunk(world, chunkX, chunkZ);
+    }
+
+    /**
+     * @param world  World name
+     * @param chunkX Chunk x
+     * @param chunkZ Chunk z
+     * @return Every registered sign in the chunk with its channel
+     */
+    public Collection<WirelessPointIndex.Entry> getSignsInChunk(String world, int chunkX, int chunkZ) {
+        return pointIndex.getChunk(world, chunkX, chunkZ);
+    }
+
     public Collection<WirelessPoint> getAllSigns() {
         List<WirelessPoint> collection = new ArrayList<>();
         getChannels().stream()
@@ -122,12 +299,20 @@ public class StorageManager {
         } else if (storageType == StorageType.SQLITE) {
             storage = new SQLiteStorage(channelFolder);
             DatabaseClient.init(new File(WirelessRedstone.getInstance().getDataFolder(), channelFolder).toString());
+        } else if (storageType == StorageType.CHUNK) {
+            storage = new ChunkStorage(channelFolder);
         } else {
             return false;
         }
 
-        Collection<WirelessChannel> channels = storage.getAllChannels();
+        // Changes the old storage didn't write before the server stopped
+        storage.replayJournal();
+
+        Collection<WirelessChannel> channels = storage instanceof ChunkStorage
+                ? ((ChunkStorage) storage).getAllChannelsWithUnloadedChunks()
+                : storage.getAllChannels();
         channels.forEach(getStorage()::createChannel);
+        getStorage().flushJournal();
         storage.close();
 
         if (storageType == StorageType.YAML) {
@@ -135,8 +320,12 @@ public class StorageManager {
 
             Arrays.stream(Objects.requireNonNull(channelFolderFile.listFiles(filter)))
                     .forEach(File::delete);
+        } else if (storageType == StorageType.CHUNK) {
+            // The records in the chunks are ignored without the metadata file
+            new File(channelFolderFile, ChunkStorage.META_NAME).delete();
         } else {
-            final FilenameFilter filter = (dir, name) -> name.toLowerCase().endsWith(".db");
+            // Also matches the -wal and -shm files of the database
+            final FilenameFilter filter = (dir, name) -> name.toLowerCase().contains(".db");
 
             Arrays.stream(Objects.requireNonNull(channelFolderFile.listFiles(filter)))
                     .forEach(File::delete);
@@ -1,5 +1,5 @@
 package net.licks92.wirelessredstone.storage;
 
 public enum StorageType {
-    SQLITE, YAML
+    SQLITE, YAML, CHUNK
 }
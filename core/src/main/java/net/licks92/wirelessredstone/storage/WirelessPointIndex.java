@@ -0,0 +1,227 @@
+package net.licks92.wirelessredstone.storage;
+
+import net.licks92.wirelessredstone.signs.WirelessChannel;
+import net.licks92.wirelessredstone.signs.WirelessPoint;
+import net.licks92.wirelessredstone.signs.WirelessTransmitter;
+import org.bukkit.Location;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongConsumer;
+
+/**
+ * Per-world lookup table of every registered WirelessPoint, keyed by its packed block position.
+ */
+public class WirelessPointIndex {
+
+    /* How far (in blocks) a redstone update can be from a transmitter and still reach it */
+    private static final int TRANSMITTER_REACH = 3;
+
+    private final Map<String, Map<Long, Entry>> worlds = new ConcurrentHashMap<>();
+    private final Map<String, Map<Long, Map<Long, Entry>>> chunks = new ConcurrentHashMap<>();
+    private final Map<String, ChunkPresenceFilter> transmitterChunks = new ConcurrentHashMap<>();
+    private final Map<String, ChunkPresenceFilter> pointChunks = new ConcurrentHashMap<>();
+
+    /**
+     * Pack a block position into a single long.<br>
+     * x and z use 26 bits each, y uses 12 bits; the same layout Minecraft uses for BlockPos.
+     *
+     * @param x Block x
+     * @param y Block y
+     * @param z Block z
+     * @return Packed position
+     */
+    public static long pack(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    public static int unpackX(long packed) {
+        return (int) (packed >> 38);
+    }
+
+    public static int unpackY(long packed) {
+        return (int) (packed << 52 >> 52);
+    }
+
+    public static int unpackZ(long packed) {
+        return (int) (packed << 26 >> 38);
+    }
+
+    public Entry get(String world, int x, int y, int z) {
+        Map<Long, Entry> positions = worlds.get(world);
+        if (positions == null) {
+            return null;
+        }
+
+        return positions.get(pack(x, y, z));
+    }
+
+    public Entry get(Location location) {
+        if (location == null || location.getWorld() == null) {
+            return null;
+        }
+
+        return get(location.getWorld().getName(), location.getBlockX(), location.getBlockY(), location.getBlockZ());
+    }
+
+    /**
+     * @param world  World name
+     * @param chunkX Chunk x
+     * @param chunkZ Chunk z
+     * @return Every WirelessPoint in the chunk
+     */
+    public Collection<Entry> getChunk(String world, int chunkX, int chunkZ) {
+        Map<Long, Map<Long, Entry>> worldChunks = chunks.get(world);
+        if (worldChunks == null) {
+            return List.of();
+        }
+
+        Map<Long, Entry> positions = worldChunks.get(ChunkPresenceFilter.chunkKey(chunkX, chunkZ));
+        return positions == null ? List.of() : List.copyOf(positions.values());
+    }
+
+    /**
+     * Check if a chunk contains a transmitter or is close enough to one that redstone in it can reach the transmitter.
+     *
+     * @param world  World name
+     * @param chunkX Chunk x
+     * @param chunkZ Chunk z
+     * @return Boolean; Chunk can influence a transmitter
+     */
+    public boolean isNearTransmitter(String world, int chunkX, int chunkZ) {
+        ChunkPresenceFilter filter = transmitterChunks.get(world);
+        return filter != null && filter.contains(chunkX, chunkZ);
+    }
+
+    /**
+     * @param world  World name
+     * @param chunkX Chunk x
+     * @param chunkZ Chunk z
+     * @return Boolean; Chunk contains at least one WirelessPoint
+     */
+    public boolean hasPointsInChunk(String world, int chunkX, int chunkZ) {
+        ChunkPresenceFilter filter = pointChunks.get(world);
+        return filter != null && filter.contains(chunkX, chunkZ);
+    }
+
+    protected void add(WirelessChannel channel, WirelessPoint point) {
+        Entry previous = index(channel, point);
+        if (previous != null) {
+            updateChunks(previous.point(), false);
+        }
+        updateChunks(point, true);
+    }
+
+    protected void addAll(WirelessChannel channel) {
+        for (WirelessPoint point : channel.getSigns()) {
+            add(channel, point);
+        }
+    }
+
+    protected void remove(WirelessPoint point) {
+        Map<Long, Entry> positions = worlds.get(point.getWorld());
+        if (positions == null) {
+            return;
+        }
+
+        long key = pack(point.getX(), point.getY(), point.getZ());
+        Entry entry = positions.get(key);
+        if (entry != null && (entry.point() == point || entry.point().equals(point))) {
+            positions.remove(key);
+            removeFromChunk(entry.point(), key);
+            updateChunks(entry.point(), false);
+        }
+    }
+
+    protected void removeAll(WirelessChannel channel) {
+        for (WirelessPoint point : channel.getSigns()) {
+            remove(point);
+        }
+    }
+
+    protected void rebuild(Collection<WirelessChannel> channels) {
+        clear();
+        for (WirelessChannel channel : channels) {
+            for (WirelessPoint point : channel.getSigns()) {
+                index(channel, point);
+            }
+        }
+
+        // Fill the chunk filters once instead of growing them point by point
+        for (Map.Entry<String, Map<Long, Entry>> world : worlds.entrySet()) {
+            List<Long> points = new ArrayList<>(world.getValue().size());
+            List<Long> transmitters = new ArrayList<>();
+            for (Entry entry : world.getValue().values()) {
+                WirelessPoint point = entry.point();
+                points.add(ChunkPresenceFilter.chunkKey(point.getChunkX(), point.getChunkZ()));
+                if (point instanceof WirelessTransmitter) {
+                    forEachReachedChunk(point, transmitters::add);
+                }
+            }
+
+            pointChunks.computeIfAbsent(world.getKey(), name -> new ChunkPresenceFilter()).addAll(points);
+            if (!transmitters.isEmpty()) {
+                transmitterChunks.computeIfAbsent(world.getKey(), name -> new ChunkPresenceFilter()).addAll(transmitters);
+            }
+        }
+    }
+
+    protected void clear() {
+        worlds.clear();
+        chunks.clear();
+        transmitterChunks.clear();
+        pointChunks.clear();
+    }
+
+    private Entry index(WirelessChannel channel, WirelessPoint point) {
+        long key = pack(point.getX(), point.getY(), point.getZ());
+        Entry entry = new Entry(point, channel);
+        Entry previous = worlds.computeIfAbsent(point.getWorld(), world -> new ConcurrentHashMap<>())
+                .put(key, entry);
+        chunks.computeIfAbsent(point.getWorld(), world -> new ConcurrentHashMap<>())
+                .computeIfAbsent(ChunkPresenceFilter.chunkKey(point.getChunkX(), point.getChunkZ()), chunk -> new ConcurrentHashMap<>())
+                .put(key, entry);
+        return previous;
+    }
+
+    private void removeFromChunk(WirelessPoint point, long key) {
+        Map<Long, Map<Long, Entry>> worldChunks = chunks.get(point.getWorld());
+        if (worldChunks == null) {
+            return;
+        }
+
+        worldChunks.computeIfPresent(ChunkPresenceFilter.chunkKey(point.getChunkX(), point.getChunkZ()), (chunk, positions) -> {
+            positions.remove(key);
+            return positions.isEmpty() ? null : positions;
+        });
+    }
+
+    private void updateChunks(WirelessPoint point, boolean add) {
+        ChunkPresenceFilter points = pointChunks.computeIfAbsent(point.getWorld(), world -> new ChunkPresenceFilter());
+        if (add) {
+            points.increment(ChunkPresenceFilter.chunkKey(point.getChunkX(), point.getChunkZ()));
+        } else {
+            points.decrement(ChunkPresenceFilter.chunkKey(point.getChunkX(), point.getChunkZ()));
+        }
+
+        if (!(point instanceof WirelessTransmitter)) {
+            return;
+        }
+
+        ChunkPresenceFilter filter = transmitterChunks.computeIfAbsent(point.getWorld(), world -> new ChunkPresenceFilter());
+        forEachReachedChunk(point, add ? filter::increment : filter::decrement);
+    }
+
+    private static void forEachReachedChunk(WirelessPoint point, LongConsumer consumer) {
+        for (int chunkX = (point.getX() - TRANSMITTER_REACH) >> 4; chunkX <= (point.getX() + TRANSMITTER_REACH) >> 4; chunkX++) {
+            for (int chunkZ = (point.getZ() - TRANSMITTER_REACH) >> 4; chunkZ <= (point.getZ() + TRANSMITTER_REACH) >> 4; chunkZ++) {
+                consumer.accept(ChunkPresenceFilter.chunkKey(chunkX, chunkZ));
+            }
+        }
+    }
+
+    public record Entry(WirelessPoint point, WirelessChannel channel) {}
+}
@@ -0,0 +1,321 @@
+package net.licks92.wirelessredstone.storage;
+
+import net.licks92.wirelessredstone.ConfigManager;
+import net.licks92.wirelessredstone.WirelessRedstone;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind journal between the storage and the disk.<br>
+ * Mutations are queued by the server thread and handed to a dedicated I/O thread.
+ * The I/O thread appends every mutation to an append-only log and writes everything
+ * that piled up during one flush window to the primary store in one go.
+ * After a successful write the log is truncated; a log that is still present on startup
+ * is replayed before the channels are loaded.
+ */
+class WriteBehindJournal {
+
+    private static final Object STOP = new Object();
+
+    private final File logFile;
+    private final Sink sink;
+    private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>();
+    private volatile Thread thread;
+
+    /**
+     * @param channelFolder Folder of the log
+     * @param logName       File name of the log. Every storage type needs its own log, a log can only be replayed
+     *                      by the storage that wrote it
+     * @param sink          Primary store
+     */
+    WriteBehindJournal(File channelFolder, String logName, Sink sink) {
+        this.logFile = new File(channelFolder, logName);
+        this.sink = sink;
+    }
+
+    /**
+     * Write the entries of a journal log that wasn't flushed before the server stopped.
+     * Call this before the channels are loaded from the primary store.
+     */
+    void replay() {
+        if (!logFile.exists()) {
+            return;
+        }
+
+        List<JournalEntry> entries = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(logFile.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    continue;
+                }
+
+                try {
+                    entries.add(JournalEntry.decode(line));
+                } catch (IllegalArgumentException ex) {
+                    // Last line could be half written when the server crashed
+                    WirelessRedstone.getWRLogger().warning("Skipping unreadable line in the storage journal.");
+                }
+            }
+        } catch (IOException ex) {
+            WirelessRedstone.getWRLogger().severe("Couldn't read the storage journal!");
+            ex.printStackTrace();
+            return;
+        }
+
+        if (!entries.isEmpty()) {
+            WirelessRedstone.getWRLogger().info("Recovering " + entries.size() + " unsaved storage changes.");
+            try {
+                sink.write(coalesce(entries));
+            } catch (Exception ex) {
+                WirelessRedstone.getWRLogger().severe("Couldn't recover the storage journal! The journal is kept for the next startup.");
+                ex.printStackTrace();
+                return;
+            }
+        }
+
+        if (!logFile.delete()) {
+            WirelessRedstone.getWRLogger().warning("Couldn't delete the storage journal.");
+        }
+    }
+
+    void start() {
+        if (thread != null) {
+            return;
+        }
+
+        thread = new Thread(this::run, "WirelessRedstone-Storage");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Write all pending entries and stop the I/O thread. Blocks until everything is written.
+     */
+    void close() {
+        Thread current = thread;
+        if (current == null) {
+            return;
+        }
+
+        queue.add(STOP);
+        try {
+            current.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        thread = null;
+    }
+
+    boolean isRunning() {
+        return thread != null;
+    }
+
+    /**
+     * Queue a mutation. Never blocks; if the I/O thread isn't running the entry is written immediately.
+     *
+     * @param entry Mutation
+     */
+    void append(JournalEntry entry) {
+        if (thread == null) {
+            try {
+                sink.write(List.of(entry));
+            } catch (Exception ex) {
+                WirelessRedstone.getWRLogger().severe("Couldn't save " + entry + " to the storage!");
+                ex.printStackTrace();
+            }
+            return;
+        }
+
+        queue.add(entry);
+    }
+
+    /**
+     * Block until every entry queued before this call has been written to the primary store.
+     * Only use this for administrative actions like backups, wipes and conversions.
+     */
+    void flushAndWait() {
+        if (thread == null) {
+            return;
+        }
+
+        CompletableFuture<Void> barrier = new CompletableFuture<>();
+        queue.add(barrier);
+        barrier.join();
+    }
+
+    private void run() {
+        long flushInterval = Math.max(0, ConfigManager.getConfig().getStorageFlushInterval());
+        List<JournalEntry> pending = new ArrayList<>();
+        long deadline = 0;
+        BufferedWriter log = null;
+
+        try {
+            while (true) {
+                Object next;
+                try {
+                    if (pending.isEmpty()) {
+                        next = queue.take();
+                    } else {
+                        next = queue.poll(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                    }
+                } catch (InterruptedException ex) {
+                    next = STOP;
+                }
+
+                if (next instanceof JournalEntry entry) {
+                    if (pending.isEmpty()) {
+                        deadline = System.currentTimeMillis() + flushInterval;
+                    }
+                    pending.add(entry);
+
+                    try {
+                        if (log == null) {
+                            log = Files.newBufferedWriter(logFile.toPath(), StandardCharsets.UTF_8,
+                                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                        }
+                        log.write(entry.encode());
+                        log.newLine();
+                        if (queue.isEmpty()) {
+                            log.flush();
+                        }
+                    } catch (IOException ex) {
+                        WirelessRedstone.getWRLogger().warning("Couldn't append to the storage journal: " + ex.getMessage());
+                    }
+
+                    if (System.currentTimeMillis() < deadline) {
+                        continue;
+                    }
+                }
+
+                if (!pending.isEmpty() && flush(pending)) {
+                    pending.clear();
+                    log = truncate(log);
+                } else if (!pending.isEmpty()) {
+                    deadline = System.currentTimeMillis() + Math.max(flushInterval, 1000);
+                }
+
+                if (next instanceof CompletableFuture<?> barrier) {
+                    barrier.complete(null);
+                } else if (next == STOP) {
+                    break;
+                }
+            }
+        } finally {
+            if (log != null) {
+                try {
+                    log.close();
+                } catch (IOException ignored) {
+                }
+            }
+
+            // Release anyone still waiting on a barrier
+            Object remaining;
+            while ((remaining = queue.poll()) != null) {
+                if (remaining instanceof CompletableFuture<?> barrier) {
+                    barrier.complete(null);
+                }
+            }
+        }
+    }
+
+    private boolean flush(List<JournalEntry> pending) {
+        long start = System.nanoTime();
+        try {
+            sink.write(coalesce(pending));
+            WirelessRedstone.getInstrumentation().getStorageFlush().observeNanos(System.nanoTime() - start);
+            return true;
+        } catch (Exception ex) {
+            WirelessRedstone.getWRLogger().severe("Couldn't write " + pending.size() + " changes to the storage! Trying again later.");
+            ex.printStackTrace();
+            return false;
+        }
+    }
+
+    private BufferedWriter truncate(BufferedWriter log) {
+        if (log != null) {
+            try {
+                log.close();
+            } catch (IOException ignored) {
+            }
+        }
+
+        try {
+            Files.deleteIfExists(logFile.toPath());
+        } catch (IOException ex) {
+            WirelessRedstone.getWRLogger().warning("Couldn't truncate the storage journal: " + ex.getMessage());
+        }
+
+        return null;
+    }
+
+    /**
+     * Drop every entry that is overwritten by a later entry of the same channel.
+     * A channel write replaces older channel writes, a channel removal replaces everything of that channel before it.
+     *
+     * @param entries Entries in order of arrival
+     * @return Remaining entries in order of arrival
+     */
+    static List<JournalEntry> coalesce(List<JournalEntry> entries) {
+        Deque<JournalEntry> result = new ArrayDeque<>(entries.size());
+        Set<String> written = new HashSet<>();
+        Set<String> removed = new HashSet<>();
+
+        for (int i = entries.size() - 1; i >= 0; i--) {
+            JournalEntry entry = entries.get(i);
+            String channelName = entry.getChannelName();
+
+            switch (entry.getType()) {
+                case WRITE_CHANNEL:
+                    if (!written.contains(channelName) && !removed.contains(channelName)) {
+                        result.addFirst(entry);
+                    }
+                    written.add(channelName);
+                    break;
+                case REMOVE_CHANNEL:
+                    // A later write doesn't necessarily replace every row of the channel, so keep the removal
+                    if (!removed.contains(channelName)) {
+                        result.addFirst(entry);
+                    }
+                    removed.add(channelName);
+                    break;
+                default:
+                    if (!removed.contains(channelName)) {
+                        result.addFirst(entry);
+                    }
+                    break;
+            }
+        }
+
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * Primary store the journal writes to.
+     */
+    interface Sink {
+        /**
+         * Write a batch of entries. Everything in one batch should be written in one transaction.
+         *
+         * @param entries Entries in order of arrival
+         * @throws Exception If the batch couldn't be written; the batch is retried later
+         */
+        void write(List<JournalEntry> entries) throws Exception;
+    }
+}
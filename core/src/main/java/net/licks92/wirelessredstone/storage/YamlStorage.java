@@ -1,5 +1,6 @@
 package net.licks92.wirelessredstone.storage;
 
+import net.licks92.wirelessredstone.instrumentation.StorageWriteEvent;
 import net.licks92.wirelessredstone.signs.WirelessChannel;
 import net.licks92.wirelessredstone.signs.WirelessPoint;
 import net.licks92.wirelessredstone.signs.WirelessReceiver;
@@ -16,23 +17,45 @@ import org.bukkit.configuration.file.YamlConfiguration;
 import org.bukkit.configuration.serialization.ConfigurationSerialization;
 
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.FilenameFilter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 @SuppressWarnings("ResultOfMethodCallIgnored")
 public class YamlStorage extends StorageConfiguration {
 
+    static final String JOURNAL_NAME = "journal-yaml.log";
+
     private final File channelFolder;
+    private static final int MAX_LOAD_THREADS = 8;
+
     private final FilenameFilter yamlFilter = (dir, name) -> name.toLowerCase().endsWith(".yml");
 
     public YamlStorage(String channelFolder) {
         this.channelFolder = new File(WirelessRedstone.getInstance().getDataFolder(), channelFolder);
+        this.journal = new WriteBehindJournal(this.channelFolder, JOURNAL_NAME, this::writeEntries);
+
+        registerSerialization();
+    }
 
-        //Initialize the serialization
+    /**
+     * Register all classes that are saved through the Bukkit configuration serialization.
+     */
+    static void registerSerialization() {
         ConfigurationSerialization.registerClass(WirelessChannel.class, "WirelessChannel");
         ConfigurationSerialization.registerClass(WirelessTransmitter.class, "WirelessTransmitter");
         ConfigurationSerialization.registerClass(WirelessScreen.class, "WirelessScreen");
@@ -46,7 +69,8 @@ public class YamlStorage extends StorageConfiguration {
 
     @Override
     public boolean initStorage() {
-        //TODO: Initstorage
+        journal.replay();
+        journal.start();
 
         WirelessRedstone.getStorageManager().updateChannels(false);
 
@@ -65,42 +89,76 @@ public class YamlStorage extends StorageConfiguration {
             setChannel(channel.getName(), channel);
         }
 
+        journal.close();
         return true;
     }
 
+    /**
+     * Load every channel file. Files are parsed and deserialized in parallel on a bounded pool,
+     * a file that fails to load is reported and left on disk; it doesn't stop the other files.
+     */
     @Override
     protected Collection<WirelessChannel> getAllChannels() {
-        Collection<WirelessChannel> channels = new ArrayList<>();
+        File[] files = Objects.requireNonNull(channelFolder.listFiles(yamlFilter));
+        Collection<WirelessChannel> channels = new ArrayList<>(files.length);
+        if (files.length == 0) {
+            return channels;
+        }
 
-        for (File f : Objects.requireNonNull(channelFolder.listFiles(yamlFilter))) {
-            FileConfiguration channelConfig = new YamlConfiguration();
-            try {
-                channelConfig.load(f);
-            } catch (InvalidConfigurationException | IOException ex) {
-                ex.printStackTrace();
-            }
+        int parallelism = Math.max(1, Math.min(MAX_LOAD_THREADS, Runtime.getRuntime().availableProcessors()));
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        List<LoadResult> results;
+        try {
+            results = pool.submit(() -> Arrays.stream(files)
+                    .parallel()
+                    .map(this::loadChannelFile)
+                    .collect(Collectors.toList())
+            ).join();
+        } finally {
+            pool.shutdown();
+        }
 
-            String channelName;
-            try {
-                channelName = f.getName().split(".yml")[0];
-            } catch (ArrayIndexOutOfBoundsException ex) {
-                continue;
+        int failed = 0;
+        for (LoadResult result : results) {
+            if (result.channel() != null) {
+                channels.add(result.channel());
+                WirelessRedstone.getWRLogger().debug("Found channel: " + result.channel().getName());
+            } else if (result.error() == null) {
+                WirelessRedstone.getWRLogger().debug("File " + result.file().getName() + " does not contain a Wireless Channel. Removing it.");
+                result.file().delete();
+            } else {
+                failed++;
+                WirelessRedstone.getWRLogger().warning("Couldn't load channel file " + result.file().getName() + ": " + result.error());
             }
+        }
 
-            Object channel = channelConfig.get(channelName);
-            if (channel instanceof WirelessChannel) {
-                channels.add((WirelessChannel) channel);
-                WirelessRedstone.getWRLogger().debug("Found channel: " + ((WirelessChannel) channel).getName());
-            } else if (channel == null) {
-                WirelessRedstone.getWRLogger().debug("File " + f.getName() + " does not contain a Wireless Channel. Removing it.");
-                f.delete();
-            } else
-                WirelessRedstone.getWRLogger().warning("Channel " + channel + " is not of type WirelessChannel.");
+        if (failed > 0) {
+            WirelessRedstone.getWRLogger().warning(failed + " channel file(s) couldn't be loaded. They are left untouched.");
         }
 
         return channels;
     }
 
+    private LoadResult loadChannelFile(File file) {
+        String channelName = file.getName().substring(0, file.getName().length() - ".yml".length());
+
+        FileConfiguration channelConfig = new YamlConfiguration();
+        try {
+            channelConfig.load(file);
+        } catch (InvalidConfigurationException | IOException | RuntimeException ex) {
+            return new LoadResult(file, null, ex.getMessage());
+        }
+
+        Object channel = channelConfig.get(channelName);
+        if (channel instanceof WirelessChannel) {
+            return new LoadResult(file, (WirelessChannel) channel, null);
+        } else if (channel == null) {
+            return new LoadResult(file, null, null);
+        }
+
+        return new LoadResult(file, null, "Channel " + channel + " is not of type WirelessChannel.");
+    }
+
     @Override
     public boolean createChannel(WirelessChannel channel) {
         if (!setChannel(channel.getName(), channel))
@@ -141,16 +199,15 @@ public class YamlStorage extends StorageConfiguration {
 
     @Override
     public boolean removeChannel(String channelName, boolean removeSigns) {
-        File file = new File(channelFolder, channelName + ".yml");
-
-        if (file.exists())
-            file.delete();
+        journal.append(JournalEntry.removeChannel(channelName));
 
         return super.removeChannel(channelName, removeSigns);
     }
 
     @Override
     public boolean wipeData() {
+        journal.flushAndWait();
+
         for (File f : Objects.requireNonNull(channelFolder.listFiles(yamlFilter))) {
             f.delete();
         }
@@ -160,10 +217,10 @@ public class YamlStorage extends StorageConfiguration {
 
     @Override
     public void updateSwitchState(WirelessChannel channel) {
+        // Only the switches are journaled, the channel file is rewritten on the I/O thread
         for (WirelessReceiver receiver : channel.getReceivers()) {
             if (receiver instanceof WirelessReceiverSwitch) {
-                setChannel(channel.getName(), channel);
-                break;
+                journal.append(JournalEntry.updateSwitch(channel.getName(), (WirelessReceiverSwitch) receiver));
             }
         }
     }
@@ -173,6 +230,8 @@ public class YamlStorage extends StorageConfiguration {
         for (File file : Objects.requireNonNull(channelFolder.listFiles())) {
             if (file.getName().contains(".db")) {
                 return StorageType.SQLITE;
+            } else if (file.getName().equals(ChunkStorage.META_NAME)) {
+                return StorageType.CHUNK;
             }
         }
 
@@ -180,29 +239,114 @@ public class YamlStorage extends StorageConfiguration {
     }
 
     private boolean setChannel(String channelName, WirelessChannel channel) {
-        FileConfiguration channelConfig = new YamlConfiguration();
-        try {
-            File channelFile = new File(channelFolder, channelName + ".yml");
+        StorageWriteEvent event = new StorageWriteEvent();
+        event.begin();
 
-            if (channel != null)
-                channelFile.createNewFile();
+        JournalEntry entry = channel == null
+                ? JournalEntry.removeChannel(channelName)
+                : JournalEntry.writeChannel(channelName, channel);
+        journal.append(entry);
 
-            channelConfig.load(channelFile);
-        } catch (FileNotFoundException e) {
-            return false;
-        } catch (IOException | InvalidConfigurationException ex) {
-            ex.printStackTrace();
+        event.complete(StorageType.YAML.name(), entry.getType().name(), channelName, true, 0);
+        return true;
+    }
+
+    /**
+     * Write a batch of the journal. Switch updates are collected per channel, every switched channel file
+     * is read and written once at the end of the batch.
+     */
+    private void writeEntries(List<JournalEntry> entries) throws IOException, InvalidConfigurationException {
+        Map<String, List<JournalEntry.SwitchState>> switchStates = new LinkedHashMap<>();
+
+        for (JournalEntry entry : entries) {
+            String channelName = entry.getChannelName();
+            switch (entry.getType()) {
+                case REMOVE_CHANNEL:
+                    switchStates.remove(channelName);
+                    writeChannelFile(entry.getType(), channelName, null);
+                    break;
+                case WRITE_CHANNEL:
+                    // The channel was serialized after the earlier switch updates, so it already contains them
+                    switchStates.remove(channelName);
+                    writeChannelFile(entry.getType(), channelName, entry.getPayload());
+                    break;
+                case UPDATE_SWITCH:
+                    switchStates.computeIfAbsent(channelName, name -> new ArrayList<>()).add(entry.getSwitchState());
+                    break;
+                default:
+                    // Points are only journaled by the SQLite storage, don't drop them silently
+                    throw new InvalidConfigurationException("Unsupported journal entry " + entry);
+            }
         }
 
-        channelConfig.set(channelName, channel);
+        for (Map.Entry<String, List<JournalEntry.SwitchState>> channelStates : switchStates.entrySet()) {
+            writeSwitchStates(channelStates.getKey(), channelStates.getValue());
+        }
+    }
 
-        try {
-            channelConfig.save(new File(channelFolder, channelName + ".yml"));
-        } catch (IOException ex) {
-            ex.printStackTrace();
-            return false;
+    private void writeSwitchStates(String channelName, List<JournalEntry.SwitchState> states) throws IOException {
+        if (states == null) {
+            return;
         }
 
-        return true;
+        LoadResult result = loadChannelFile(new File(channelFolder, channelName + ".yml"));
+        if (result.channel() == null) {
+            if (result.error() != null) {
+                throw new IOException("Couldn't read channel " + channelName + ": " + result.error());
+            }
+            // The channel was removed after the switches changed
+            return;
+        }
+
+        // Later states of the same switch replace earlier ones
+        Map<String, Map<Long, Boolean>> activeStates = new HashMap<>();
+        for (JournalEntry.SwitchState state : states) {
+            activeStates.computeIfAbsent(state.world(), world -> new HashMap<>())
+                    .put(WirelessPointIndex.pack(state.x(), state.y(), state.z()), state.active());
+        }
+
+        WirelessChannel channel = result.channel();
+        List<WirelessReceiver> receivers = new ArrayList<>(channel.getReceivers().size());
+        for (WirelessReceiver receiver : channel.getReceivers()) {
+            Map<Long, Boolean> worldStates = activeStates.get(receiver.getWorld());
+            Boolean active = worldStates == null ? null : worldStates.get(receiver.getPackedPosition());
+            if (active != null && receiver instanceof WirelessReceiverSwitch) {
+                receiver = new WirelessReceiverSwitch(receiver.getX(), receiver.getY(), receiver.getZ(), receiver.getWorld(),
+                        receiver.isWallSign(), receiver.getDirection(), receiver.getOwner(), active);
+            }
+            receivers.add(receiver);
+        }
+        channel.setReceivers(receivers);
+
+        YamlConfiguration config = new YamlConfiguration();
+        config.set(channelName, channel);
+        writeChannelFile(JournalEntry.Type.UPDATE_SWITCH, channelName, config.saveToString());
+    }
+
+    private void writeChannelFile(JournalEntry.Type type, String channelName, String payload) throws IOException {
+        StorageWriteEvent event = new StorageWriteEvent();
+        event.begin();
+
+        Path channelFile = new File(channelFolder, channelName + ".yml").toPath();
+        long bytes = 0;
+
+        if (payload == null) {
+            Files.deleteIfExists(channelFile);
+        } else {
+            // Write next to the channel file first, so a crash never leaves a half written channel
+            Path temporaryFile = channelFile.resolveSibling(channelFile.getFileName() + ".tmp");
+            byte[] data = payload.getBytes(StandardCharsets.UTF_8);
+            bytes = data.length;
+            Files.write(temporaryFile, data);
+            try {
+                Files.move(temporaryFile, channelFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(temporaryFile, channelFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        event.complete(StorageType.YAML.name(), type.name(), channelName, false, bytes);
     }
-}
\ No newline at end of file
+
+    private record LoadResult(File file, WirelessChannel channel, String error) {}
+}
@@ -15,6 +15,8 @@ public class Strings {
     public String channelOwnerRemoved;
     public String channelAlreadyOwner;
     public String channelNoOwner;
+    public String channelOwnedBy;
+    public String channelQuotaReached;
 
     public String dbBackupDone;
     public String dbBackupFailed;
@@ -0,0 +1,8 @@
+CREATE INDEX IF NOT EXISTS [owner_channel_name] ON [owner]([channel_name]);
+CREATE INDEX IF NOT EXISTS [transmitter_channel_name] ON [transmitter]([channel_name]);
+CREATE INDEX IF NOT EXISTS [receiver_channel_name] ON [receiver]([channel_name]);
+CREATE INDEX IF NOT EXISTS [screen_channel_name] ON [screen]([channel_name]);
+CREATE INDEX IF NOT EXISTS [inverter_channel_name] ON [inverter]([channel_name]);
+CREATE INDEX IF NOT EXISTS [delayer_channel_name] ON [delayer]([channel_name]);
+CREATE INDEX IF NOT EXISTS [switch_channel_name] ON [switch]([channel_name]);
+CREATE INDEX IF NOT EXISTS [clock_channel_name] ON [clock]([channel_name]);
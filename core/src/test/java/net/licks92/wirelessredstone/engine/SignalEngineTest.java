@@ -0,0 +1,300 @@
+package net.licks92.wirelessredstone.engine;
+
+import net.licks92.wirelessredstone.instrumentation.Instrumentation;
+import net.licks92.wirelessredstone.scheduler.TimingWheel;
+import net.licks92.wirelessredstone.signs.GateLogic;
+import net.licks92.wirelessredstone.signs.WirelessChannel;
+import net.licks92.wirelessredstone.signs.WirelessPoint;
+import net.licks92.wirelessredstone.signs.WirelessReceiver;
+import net.licks92.wirelessredstone.signs.WirelessReceiverClock;
+import net.licks92.wirelessredstone.signs.WirelessReceiverDelayer;
+import net.licks92.wirelessredstone.signs.WirelessReceiverInverter;
+import net.licks92.wirelessredstone.signs.WirelessReceiverSwitch;
+import net.licks92.wirelessredstone.signs.WirelessScreen;
+import net.licks92.wirelessredstone.signs.WirelessTransmitter;
+import org.bukkit.block.BlockFace;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the signal engine against a {@link SimulatedWorld} and a {@link TimingWheel} that is advanced by hand,
+ * so every tick of a simulation is deterministic.
+ */
+class SignalEngineTest {
+
+    private static final String WORLD = "world";
+    private static final String OWNER = "test";
+
+    private SimulatedWorld world;
+    private TimingWheel wheel;
+    private WirelessChannel channel;
+    private int nextX;
+
+    @BeforeEach
+    void setUp() {
+        world = new SimulatedWorld();
+        wheel = new TimingWheel();
+        channel = new WirelessChannel("channel");
+        nextX = 0;
+    }
+
+    @Test
+    void orGateStaysOnWhileATransmitterIsPowered() {
+        SignalEngine engine = createEngine(GateLogic.OR);
+        WirelessTransmitter first = addTransmitter();
+        WirelessTransmitter second = addTransmitter();
+        WirelessReceiver receiver = add(new WirelessReceiver(nextX++, 64, 0, WORLD, false, BlockFace.NORTH, OWNER));
+
+        power(engine, first, true);
+        power(engine, second, true);
+        engine.turnOn(channel, 0);
+        assertTrue(channel.isActive());
+        assertEquals(Boolean.TRUE, world.getReceiverState(receiver));
+
+        power(engine, first, false);
+        engine.turnOff(channel, null, false);
+        assertTrue(channel.isActive());
+        assertEquals(Boolean.TRUE, world.getReceiverState(receiver));
+
+        power(engine, second, false);
+        engine.turnOff(channel, null, false);
+        assertFalse(channel.isActive());
+        assertEquals(Boolean.FALSE, world.getReceiverState(receiver));
+    }
+
+    @Test
+    void skippedTransmitterDoesNotKeepTheChannelOn() {
+        SignalEngine engine = createEngine(GateLogic.OR);
+        WirelessTransmitter transmitter = addTransmitter();
+
+        power(engine, transmitter, true);
+        engine.turnOn(channel, 0);
+        engine.turnOff(channel, skipped -> skipped == transmitter, false);
+
+        assertFalse(channel.isActive());
+    }
+
+    @Test
+    void andGateNeedsEveryTransmitter() {
+        SignalEngine engine = createEngine(GateLogic.AND);
+        WirelessTransmitter first = addTransmitter();
+        WirelessTransmitter second = addTransmitter();
+
+        assertFalse(engine.isGateOn(channel));
+        power(engine, first, true);
+        assertFalse(engine.isGateOn(channel));
+        power(engine, second, true);
+        assertTrue(engine.isGateOn(channel));
+    }
+
+    @Test
+    void xorGateNeedsAnOddAmountOfTransmitters() {
+        SignalEngine engine = createEngine(GateLogic.XOR);
+        WirelessTransmitter first = addTransmitter();
+        WirelessTransmitter second = addTransmitter();
+
+        power(engine, first, true);
+        assertTrue(engine.isGateOn(channel));
+        power(engine, second, true);
+        assertFalse(engine.isGateOn(channel));
+
+        engine.turnOn(channel, 0);
+        engine.turnOff(channel, null, false);
+        assertFalse(channel.isActive());
+    }
+
+    @Test
+    void thresholdGateNeedsTheConfiguredAmount() {
+        SignalEngine engine = createEngine(GateLogic.THRESHOLD);
+        WirelessTransmitter first = addTransmitter();
+        WirelessTransmitter second = addTransmitter();
+        addTransmitter();
+
+        power(engine, first, true);
+        assertFalse(engine.isGateOn(channel));
+        power(engine, second, true);
+        assertTrue(engine.isGateOn(channel));
+    }
+
+    @Test
+    void ignoreGateTurnsOffRegardlessOfTransmitters() {
+        SignalEngine engine = createEngine(GateLogic.IGNORE);
+        WirelessTransmitter transmitter = addTransmitter();
+
+        power(engine, transmitter, true);
+        engine.turnOn(channel, 0);
+        engine.turnOff(channel, null, false);
+
+        assertFalse(channel.isActive());
+    }
+
+    @Test
+    void refreshTransmitterReadsTheWorld() {
+        SignalEngine engine = createEngine(GateLogic.OR);
+        WirelessTransmitter transmitter = addTransmitter();
+        WirelessTransmitter removed = addTransmitter();
+        assertEquals(0, engine.getPoweredTransmitterCount(channel, null));
+
+        world.setPowered(transmitter, true);
+        engine.refreshTransmitter(channel, transmitter);
+        assertEquals(1, engine.getPoweredTransmitterCount(channel, null));
+
+        channel.removeWirelessPoint(removed);
+        world.setPowered(removed, true);
+        engine.refreshTransmitter(channel, removed);
+        assertEquals(1, engine.getPoweredTransmitterCount(channel, null));
+
+        world.setPowered(transmitter, false);
+        engine.refreshTransmitter(channel, transmitter);
+        assertEquals(0, engine.getPoweredTransmitterCount(channel, null));
+    }
+
+    @Test
+    void inverterShowsTheOppositeState() {
+        SignalEngine engine = createEngine(GateLogic.IGNORE);
+        WirelessReceiver inverter = add(new WirelessReceiverInverter(nextX++, 64, 0, WORLD, false, BlockFace.NORTH, OWNER));
+
+        engine.turnOn(channel, 0);
+        assertEquals(Boolean.FALSE, world.getReceiverState(inverter));
+
+        engine.turnOff(channel, null, false);
+        assertEquals(Boolean.TRUE, world.getReceiverState(inverter));
+    }
+
+    @Test
+    void switchTogglesOnEveryActivation() {
+        SignalEngine engine = createEngine(GateLogic.IGNORE);
+        WirelessReceiverSwitch receiver = add(new WirelessReceiverSwitch(nextX++, 64, 0, WORLD, false, BlockFace.NORTH, OWNER));
+
+        engine.turnOn(channel, 0);
+        assertTrue(receiver.isActive());
+        assertEquals(Boolean.TRUE, world.getReceiverState(receiver));
+
+        engine.turnOff(channel, null, false);
+        assertTrue(receiver.isActive());
+        assertEquals(Boolean.TRUE, world.getReceiverState(receiver));
+
+        engine.turnOn(channel, 0);
+        assertFalse(receiver.isActive());
+        assertEquals(Boolean.FALSE, world.getReceiverState(receiver));
+        assertEquals(2, world.getSwitchSaves());
+    }
+
+    @Test
+    void delayerFollowsTheChannelAfterItsDelay() {
+        SignalEngine engine = createEngine(GateLogic.IGNORE);
+        WirelessReceiver delayer = add(new WirelessReceiverDelayer(nextX++, 64, 0, WORLD, false, BlockFace.NORTH, OWNER, 100));
+
+        engine.turnOn(channel, 0);
+        assertNull(world.getReceiverState(delayer));
+        wheel.advance();
+        assertNull(world.getReceiverState(delayer));
+        wheel.advance();
+        assertEquals(Boolean.TRUE, world.getReceiverState(delayer));
+
+        engine.turnOff(channel, null, false);
+        wheel.advance();
+        assertEquals(Boolean.TRUE, world.getReceiverState(delayer));
+        wheel.advance();
+        assertEquals(Boolean.FALSE, world.getReceiverState(delayer));
+    }
+
+    @Test
+    void clockTogglesUntilTheChannelTurnsOff() {
+        SignalEngine engine = createEngine(GateLogic.IGNORE);
+        WirelessReceiver clock = add(new WirelessReceiverClock(nextX++, 64, 0, WORLD, false, BlockFace.NORTH, OWNER, 100));
+
+        engine.turnOn(channel, 0);
+        assertEquals(Boolean.TRUE, world.getReceiverState(clock));
+
+        advance(2);
+        assertEquals(Boolean.FALSE, world.getReceiverState(clock));
+        advance(2);
+        assertEquals(Boolean.TRUE, world.getReceiverState(clock));
+
+        engine.turnOff(channel, null, false);
+        assertEquals(Boolean.FALSE, world.getReceiverState(clock));
+        long writes = world.getReceiverWrites();
+        advance(10);
+        assertEquals(writes, world.getReceiverWrites());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void screensShowTheChannelState() {
+        SignalEngine engine = createEngine(GateLogic.IGNORE);
+        WirelessScreen screen = add(new WirelessScreen(nextX++, 64, 0, WORLD, false, BlockFace.NORTH, OWNER));
+
+        engine.turnOn(channel, 0);
+        assertEquals(Boolean.TRUE, world.getScreenState(screen));
+
+        engine.turnOff(channel, null, false);
+        assertEquals(Boolean.FALSE, world.getScreenState(screen));
+    }
+
+    @Test
+    void lockedChannelKeepsItsState() {
+        SignalEngine engine = createEngine(GateLogic.IGNORE);
+        WirelessReceiver receiver = add(new WirelessReceiver(nextX++, 64, 0, WORLD, false, BlockFace.NORTH, OWNER));
+
+        channel.setLocked(true);
+        engine.turnOn(channel, 0);
+        assertFalse(channel.isActive());
+        assertNull(world.getReceiverState(receiver));
+
+        channel.setLocked(false);
+        engine.turnOn(channel, 0);
+        channel.setLocked(true);
+        engine.turnOff(channel, null, true);
+        assertTrue(channel.isActive());
+        assertEquals(Boolean.TRUE, world.getReceiverState(receiver));
+    }
+
+    @Test
+    void timedChannelTurnsOffAfterItsTime() {
+        SignalEngine engine = createEngine(GateLogic.OR);
+        WirelessTransmitter transmitter = addTransmitter();
+        WirelessReceiver receiver = add(new WirelessReceiver(nextX++, 64, 0, WORLD, false, BlockFace.NORTH, OWNER));
+
+        // The timed turn off ignores the gate, a powered transmitter doesn't keep the channel on
+        power(engine, transmitter, true);
+        engine.turnOn(channel, 150);
+        advance(2);
+        assertTrue(channel.isActive());
+        wheel.advance();
+        assertFalse(channel.isActive());
+        assertEquals(Boolean.FALSE, world.getReceiverState(receiver));
+
+        assertThrows(IllegalArgumentException.class, () -> engine.turnOn(channel, 20));
+    }
+
+    private SignalEngine createEngine(GateLogic gateLogic) {
+        return new SignalEngine(world, wheel, gateLogic, 2, new Instrumentation().getChannelActivations());
+    }
+
+    private WirelessTransmitter addTransmitter() {
+        return add(new WirelessTransmitter(nextX++, 64, 0, WORLD, false, BlockFace.NORTH, OWNER));
+    }
+
+    private <T extends WirelessPoint> T add(T point) {
+        channel.addWirelessPoint(point);
+        return point;
+    }
+
+    private void power(SignalEngine engine, WirelessTransmitter transmitter, boolean powered) {
+        world.setPowered(transmitter, powered);
+        engine.setTransmitterPowered(channel, transmitter, powered);
+    }
+
+    private void advance(int ticks) {
+        for (int tick = 0; tick < ticks; tick++) {
+            wheel.advance();
+        }
+    }
+}
@@ -2,9 +2,11 @@ package net.licks92.wirelessredstone.compat;
 
 import net.licks92.wirelessredstone.WirelessRedstone;
 import net.licks92.wirelessredstone.materiallib.data.CrossMaterial;
+import org.bukkit.Bukkit;
 import org.bukkit.block.Block;
 import org.bukkit.block.BlockFace;
 import org.bukkit.block.BlockState;
+import org.bukkit.block.data.BlockData;
 import org.bukkit.block.data.Directional;
 import org.bukkit.block.data.Powerable;
 import org.bukkit.block.data.Rotatable;
@@ -145,4 +147,45 @@ public class InternalBlockData_1_13 implements InternalBlockData {
                     + block.getBlockData().getClass());
         }
     }
+
+    @Override
+    public ReceiverBlockStates createReceiverStates(boolean isWallSign, @NotNull BlockFace blockFace, boolean applyPhysics) {
+        Objects.requireNonNull(blockFace, "BlockFace cannot be NULL");
+
+        BlockData torch;
+        BlockData sign;
+        try {
+            if (isWallSign) {
+                torch = createBlockData(CrossMaterial.REDSTONE_WALL_TORCH);
+                sign = createBlockData(CrossMaterial.WALL_SIGN);
+                if (!(torch instanceof Directional) || !(sign instanceof Directional)) {
+                    return null;
+                }
+
+                ((Directional) torch).setFacing(blockFace);
+                ((Directional) sign).setFacing(blockFace);
+            } else {
+                torch = createBlockData(CrossMaterial.REDSTONE_TORCH);
+                sign = createBlockData(CrossMaterial.SIGN);
+                if (sign instanceof Rotatable && blockFace != BlockFace.UP && blockFace != BlockFace.DOWN) {
+                    ((Rotatable) sign).setRotation(blockFace);
+                }
+            }
+        } catch (IllegalArgumentException | IllegalStateException ex) {
+            return null;
+        }
+
+        return (block, powered) -> {
+            BlockData target = powered ? torch : sign;
+            if (!block.getBlockData().equals(target)) {
+                block.setBlockData(target, applyPhysics);
+            }
+        };
+    }
+
+    private static BlockData createBlockData(CrossMaterial material) {
+        return material.getHandle()
+                .map(handle -> Bukkit.createBlockData(handle.getType()))
+                .orElseThrow(IllegalStateException::new);
+    }
 }
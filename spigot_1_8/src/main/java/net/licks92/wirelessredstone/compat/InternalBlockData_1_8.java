@@ -101,4 +101,10 @@ public class InternalBlockData_1_8 implements InternalBlockData {
         sign.setData(signData);
         sign.update();
     }
+
+    @Override
+    public ReceiverBlockStates createReceiverStates(boolean isWallSign, @NotNull BlockFace blockFace, boolean applyPhysics) {
+        // Legacy data values can't be prepared without a block
+        return null;
+    }
 }
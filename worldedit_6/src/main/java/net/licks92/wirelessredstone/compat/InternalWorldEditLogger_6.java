@@ -8,6 +8,7 @@ import com.sk89q.worldedit.extent.Extent;
 import com.sk89q.worldedit.extent.logging.AbstractLoggingExtent;
 import com.sk89q.worldedit.world.World;
 import net.licks92.wirelessredstone.WirelessRedstone;
+import net.licks92.wirelessredstone.signs.SignReader;
 import org.bukkit.block.Block;
 import org.bukkit.block.Sign;
 
@@ -33,9 +34,10 @@ public class InternalWorldEditLogger_6 extends AbstractLoggingExtent {
         }
 
         Block block = world.getBlockAt(position.getBlockX(), position.getBlockY(), position.getBlockZ());
-        if (WirelessRedstone.getSignManager().isWirelessRedstoneSign(block)) {
-            Sign sign = (Sign) block.getState();
-            String channelName = sign.getLine(1);
+        SignReader signReader = new SignReader();
+        if (WirelessRedstone.getSignManager().isWirelessRedstoneSign(block, signReader)) {
+            Sign sign = signReader.getSign(block);
+            String channelName = WirelessRedstone.getSignManager().getChannelName(sign);
             WirelessRedstone.getSignManager().removeSign(channelName, block.getLocation());
             WirelessRedstone.getWRLogger().debug("Removed sign at " + block.getLocation() + " because it was edited by WorldEdit");
         }